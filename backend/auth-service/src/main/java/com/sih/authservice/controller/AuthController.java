@@ -3,9 +3,21 @@ package com.sih.authservice.controller;
 import com.sih.authservice.dto.LoginRequest;
 import com.sih.authservice.dto.SignUpRequest;
 import com.sih.authservice.service.AuthService;
+import feign.FeignException;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -13,6 +25,9 @@ public class AuthController {
 
     private final AuthService authService;
 
+    @Value("${resilience4j.circuitbreaker.configs.default.wait-duration-in-open-state:10s}")
+    private Duration circuitOpenRetryAfter;
+
     @PostMapping("/signup")
     public String signup(@RequestBody SignUpRequest request) {
         return authService.registerStudent(request);
@@ -22,4 +37,42 @@ public class AuthController {
     public String login(@RequestBody LoginRequest request) {
         return authService.login(request);
     }
+
+    // Failures of the user-service Feign client arrive wrapped by the circuit breaker
+    @ExceptionHandler(NoFallbackAvailableException.class)
+    public ResponseEntity<String> userServiceFailure(NoFallbackAvailableException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof FeignException.ServiceUnavailable busy) {
+            // user-service sheds password-hashing load with 503; pass it through so clients back off
+            return serviceUnavailable(retryAfterOf(busy), "Service busy, retry later");
+        }
+        if (cause instanceof FeignException.Conflict) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Email already in use");
+        }
+        if (cause instanceof CallNotPermittedException) {
+            return serviceUnavailable(String.valueOf(circuitOpenRetryAfter.toSeconds()), "User service unavailable, retry later");
+        }
+        if (cause instanceof BulkheadFullException) {
+            return serviceUnavailable("1", "Service busy, retry later");
+        }
+        if (cause instanceof TimeoutException || cause instanceof RetryableException) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body("User service timed out");
+        }
+        // Anything else (e.g. rejected credentials) keeps answering 500 as before
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+
+    private static ResponseEntity<String> serviceUnavailable(String retryAfterSeconds, String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .body(message);
+    }
+
+    private static String retryAfterOf(FeignException e) {
+        return e.responseHeaders().entrySet().stream()
+                .filter(header -> HttpHeaders.RETRY_AFTER.equalsIgnoreCase(header.getKey()))
+                .flatMap(header -> header.getValue().stream())
+                .findFirst()
+                .orElse("1");
+    }
 }
@@ -0,0 +1,43 @@
+package com.sih.authservice.feign;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+public class UserClientConfig {
+
+    /**
+     * Publishes the Feign connection pool as httpcomponents.httpclient.pool.* gauges. Request timers and
+     * the breaker/bulkhead/time-limiter meters are registered by feign-micrometer and resilience4j.
+     */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(HttpClientConnectionManager connectionManager) {
+        return registry -> {
+            if (connectionManager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "user-service").bindTo(registry);
+            }
+        };
+    }
+
+    /**
+     * The time limiters run each user-service call on the breaker factory's executor, a cached platform
+     * pool by default. In virtual-thread mode give every call its own virtual thread instead; the
+     * bulkhead and the connection pool still bound how many reach user-service.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Customizer<Resilience4JCircuitBreakerFactory> virtualThreadCircuitBreakerExecutor() {
+        return factory -> factory.configureExecutorService(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-client-", 0).factory()));
+    }
+}
@@ -20,11 +20,13 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
 
-    public JwtAuthenticationFilter(JwtProvider jwtProvider) {
+    public JwtAuthenticationFilter(JwtProvider jwtProvider, VerifiedTokenCache verifiedTokenCache) {
         this.jwtProvider = jwtProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @Override
@@ -41,14 +43,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                var claims = jwtProvider.parseClaims(token);
-                String email = claims.getSubject();
-                String role = claims.get("role", String.class);
+                var verified = verifiedTokenCache.get(token, this::verify);
 
                 var authentication = new UsernamePasswordAuthenticationToken(
-                        email,
+                        verified.email(),
                         null,
-                        List.of(new SimpleGrantedAuthority("ROLE_" + role))
+                        verified.authorities()
                 );
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -58,4 +58,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private VerifiedTokenCache.VerifiedToken verify(String token) {
+        var claims = jwtProvider.parseClaims(token);
+        String role = claims.get("role", String.class);
+        return new VerifiedTokenCache.VerifiedToken(
+                claims.getSubject(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)),
+                claims.getExpiration().getTime()
+        );
+    }
 }
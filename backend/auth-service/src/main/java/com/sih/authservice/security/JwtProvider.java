@@ -1,6 +1,7 @@
 package com.sih.authservice.security;
 
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.security.Keys;
@@ -23,11 +24,17 @@ public class JwtProvider {
 
     private SecretKey signingKey;
 
+    // Immutable and thread-safe once built, so one instance serves every request
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         // HS512 needs a sufficiently long key; user must supply a strong secret in config
         this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String generateToken(String email, String role) {
@@ -66,10 +73,6 @@ public class JwtProvider {
     }
 
     public Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
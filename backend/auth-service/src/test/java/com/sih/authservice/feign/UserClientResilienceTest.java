@@ -0,0 +1,166 @@
+package com.sih.authservice.feign;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * Runs UserClient against a stub user-service whose latency the tests control.
+ */
+@SpringBootTest(properties = {
+        "jwt.secret=test-secret-that-is-long-enough-for-hs512-signatures-0123456789abcdef",
+        "resilience4j.timelimiter.instances.UserClientvalidateUserStringString.timeout-duration=300ms",
+        "resilience4j.circuitbreaker.configs.default.sliding-window-size=4",
+        "resilience4j.circuitbreaker.configs.default.minimum-number-of-calls=4",
+        "resilience4j.circuitbreaker.configs.default.wait-duration-in-open-state=60s",
+        "resilience4j.bulkhead.configs.default.max-concurrent-calls=2"
+})
+class UserClientResilienceTest {
+
+    static final String VALIDATE_BREAKER = "UserClientvalidateUserStringString";
+
+    static final AtomicLong latencyMillis = new AtomicLong();
+    static final AtomicInteger hits = new AtomicInteger();
+    static final HttpServer stub = startStub();
+
+    @Autowired
+    UserClient userClient;
+
+    @Autowired
+    CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void userServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("user.service.url", () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @BeforeEach
+    void reset() {
+        latencyMillis.set(0);
+        hits.set(0);
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+    }
+
+    @Test
+    void fastCallsGoThroughThePooledClient() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(userClient.validateUser("student@test.local", "pw").getEmail()).isEqualTo("student@test.local");
+        }
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge()).isNotNull();
+        assertThat(meterRegistry.find("resilience4j.circuitbreaker.calls").tag("name", VALIDATE_BREAKER).meters()).isNotEmpty();
+    }
+
+    @Test
+    void slowCallsAreCutOffByTheMethodTimeout() {
+        latencyMillis.set(2_000);
+        long started = System.nanoTime();
+
+        Throwable failure = catchThrowable(() -> userClient.validateUser("student@test.local", "pw"));
+
+        assertThat(failure).isInstanceOf(NoFallbackAvailableException.class).hasCauseInstanceOf(TimeoutException.class);
+        assertThat((System.nanoTime() - started) / 1_000_000).isLessThan(1_500);
+    }
+
+    @Test
+    void breakerOpensAfterRepeatedTimeoutsAndStopsCallingUserService() {
+        latencyMillis.set(1_000);
+        for (int i = 0; i < 4; i++) {
+            catchThrowable(() -> userClient.validateUser("student@test.local", "pw"));
+        }
+        int hitsWhenOpened = hits.get();
+
+        Throwable failure = catchThrowable(() -> userClient.validateUser("student@test.local", "pw"));
+
+        assertThat(circuitBreakerRegistry.circuitBreaker(VALIDATE_BREAKER).getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(failure).hasCauseInstanceOf(CallNotPermittedException.class);
+        assertThat(hits.get()).isEqualTo(hitsWhenOpened);
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheConcurrencyLimit() throws Exception {
+        latencyMillis.set(200);
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<Throwable>> results = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                results.add(callers.submit(() -> catchThrowable(() -> userClient.validateUser("student@test.local", "pw"))));
+            }
+            long rejected = 0;
+            for (Future<Throwable> result : results) {
+                Throwable failure = result.get();
+                if (failure != null && failure.getCause() instanceof BulkheadFullException) {
+                    rejected++;
+                }
+            }
+            assertThat(rejected).isGreaterThanOrEqualTo(1);
+            assertThat(hits.get()).isLessThanOrEqualTo(6 - (int) rejected);
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/users/validate", exchange -> {
+                hits.incrementAndGet();
+                sleep(latencyMillis.get());
+                byte[] body = "{\"id\":1,\"email\":\"student@test.local\",\"role\":\"STUDENT\",\"enabled\":true}"
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.sih.authservice.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class JwtAuthenticationFilterTest {
+
+    static final String SECRET = "test-secret-that-is-long-enough-for-hs512-signatures-0123456789abcdef";
+
+    private JwtProvider jwtProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtProvider = spy(newProvider(SECRET, 60_000));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void verifiesEachTokenOnceAndServesRepeatsFromCache() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtProvider, new VerifiedTokenCache(100));
+        String token = jwtProvider.generateToken("student@test.local", "STUDENT");
+
+        for (int i = 0; i < 3; i++) {
+            Authentication authentication = authenticate(filter, token);
+            assertThat(authentication.getName()).isEqualTo("student@test.local");
+            assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_STUDENT");
+        }
+        verify(jwtProvider, times(1)).parseClaims(anyString());
+    }
+
+    @Test
+    void doesNotCacheInvalidTokens() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtProvider, new VerifiedTokenCache(100));
+        String forged = newProvider(SECRET.replace('0', '1'), 60_000).generateToken("admin@test.local", "ADMIN");
+
+        assertThat(authenticate(filter, forged)).isNull();
+        assertThat(authenticate(filter, forged)).isNull();
+        verify(jwtProvider, times(2)).parseClaims(anyString());
+    }
+
+    @Test
+    void expiredEntriesAreReverified() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        long alreadyExpired = System.currentTimeMillis() - 1;
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, VerifiedTokenCache.VerifiedToken> verifier = t -> {
+            calls.incrementAndGet();
+            return new VerifiedTokenCache.VerifiedToken("student@test.local", List.of(), alreadyExpired);
+        };
+
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+
+        assertThat(calls.get()).isGreaterThanOrEqualTo(2);
+    }
+
+    static JwtProvider newProvider(String secret, long expirationMillis) {
+        JwtProvider provider = new JwtProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expirationMillis);
+        provider.init();
+        return provider;
+    }
+
+    private static Authentication authenticate(JwtAuthenticationFilter filter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/anything");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,177 @@
+package com.sih.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/** The calls the frontend makes, timed into a {@link LoadRecorder}. Thread-safe. */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String userServiceUrl;
+    private final String authServiceUrl;
+    private final LoadRecorder recorder;
+
+    ApiClient(String userServiceUrl, String authServiceUrl, LoadRecorder recorder) {
+        this.userServiceUrl = userServiceUrl;
+        this.authServiceUrl = authServiceUrl;
+        this.recorder = recorder;
+    }
+
+    /** Returns the JWT, or null if the signup failed. */
+    String signup(String email, String password) {
+        HttpResponse<String> response = send(Operation.SIGNUP, post(authServiceUrl + "/auth/signup", Map.of(
+                "firstName", "Load",
+                "lastName", "Test",
+                "email", email,
+                "password", password,
+                "role", "Student")));
+        return isOk(response) ? response.body() : null;
+    }
+
+    /** Returns the JWT, or null if the login failed. */
+    String login(String email, String password) {
+        HttpResponse<String> response = send(Operation.LOGIN, post(authServiceUrl + "/auth/login",
+                Map.of("email", email, "password", password)));
+        return isOk(response) ? response.body() : null;
+    }
+
+    boolean initialize(long userId) {
+        return isOk(send(Operation.INITIALIZE, post(userServiceUrl + "/api/progress/initialize/" + userId, null)));
+    }
+
+    /**
+     * Fetches the active paths the way the browser does, revalidating with the ETag it has. Returns the new catalog,
+     * or {@code previous} if it was not modified or the call failed.
+     */
+    PathCatalog paths(PathCatalog previous) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(userServiceUrl + "/api/progress/paths"))
+                .timeout(REQUEST_TIMEOUT).GET();
+        if (previous.etag() != null) {
+            request.header("If-None-Match", previous.etag());
+        }
+        HttpResponse<String> response = send(Operation.PATHS, request.build());
+        if (!isOk(response) || response.statusCode() == 304) {
+            return previous;
+        }
+        List<Long> pathIds = new ArrayList<>();
+        for (JsonNode path : readTree(response.body())) {
+            pathIds.add(path.get("pathId").asLong());
+        }
+        return new PathCatalog(response.headers().firstValue("ETag").orElse(null), pathIds);
+    }
+
+    boolean update(long userId, long pathId, int incrementPercent) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(userServiceUrl + "/api/progress/update/" + userId))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .PUT(jsonBody(Map.of("pathId", pathId, "incrementPercent", incrementPercent)))
+                .build();
+        return isOk(send(Operation.UPDATE, request));
+    }
+
+    boolean stats(long userId) {
+        return isOk(send(Operation.STATS, HttpRequest.newBuilder(URI.create(userServiceUrl + "/api/progress/stats/" + userId))
+                .timeout(REQUEST_TIMEOUT).GET().build()));
+    }
+
+    /** Untimed setup call: makes sure at least {@code count} active learning paths exist. */
+    void ensurePaths(int count) throws IOException, InterruptedException {
+        HttpResponse<String> existing = http.send(HttpRequest.newBuilder(URI.create(userServiceUrl + "/api/progress/paths")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        for (int i = readTree(existing.body()).size(); i < count; i++) {
+            HttpResponse<String> created = http.send(post(userServiceUrl + "/api/progress/paths", Map.of(
+                    "title", "Load test path " + i,
+                    "description", "Created by the load generator",
+                    "totalLessons", 20,
+                    "icon", "*",
+                    "color", "text-primary",
+                    "bgColor", "bg-primary/10",
+                    "sortOrder", 1000 + i,
+                    "isActive", true)), HttpResponse.BodyHandlers.ofString());
+            if (created.statusCode() != 200) {
+                throw new IllegalStateException("Could not create learning path: HTTP " + created.statusCode());
+            }
+        }
+    }
+
+    /** The userId claim of a JWT issued by auth-service; the signature is not checked. */
+    long userIdOf(String token) {
+        String payload = token.split("\\.")[1];
+        return readTree(new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8)).get("userId").asLong();
+    }
+
+    private HttpResponse<String> send(Operation operation, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(operation, System.nanoTime() - start, response.statusCode(), isOk(response));
+            backOff(response);
+            return response;
+        } catch (IOException e) {
+            recorder.record(operation, System.nanoTime() - start, LoadRecorder.NO_RESPONSE, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // A shed request (503 + Retry-After) is still an error, but the user waits as told instead of retrying in a tight loop
+    private static void backOff(HttpResponse<String> response) throws InterruptedException {
+        if (response.statusCode() == 503 || response.statusCode() == 429) {
+            String retryAfter = response.headers().firstValue("Retry-After").orElse("1");
+            Thread.sleep(Duration.ofSeconds(retryAfter.matches("\\d+") ? Long.parseLong(retryAfter) : 1));
+        }
+    }
+
+    private HttpRequest post(String url, Map<String, ?> body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(body == null ? HttpRequest.BodyPublishers.noBody() : jsonBody(body))
+                .build();
+    }
+
+    private HttpRequest.BodyPublisher jsonBody(Map<String, ?> body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected response: " + json, e);
+        }
+    }
+
+    // 304 counts: it is the answer a browser with a cached catalog gets
+    private static boolean isOk(HttpResponse<String> response) {
+        return response != null && (response.statusCode() / 100 == 2 || response.statusCode() == 304);
+    }
+
+    record PathCatalog(String etag, List<Long> pathIds) {
+        static final PathCatalog EMPTY = new PathCatalog(null, List.of());
+    }
+}
@@ -0,0 +1,84 @@
+package com.sih.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome of every request per operation, shared by all simulated users. Nothing is kept until
+ * {@link #startRecording()}, so warm-up traffic does not skew the results.
+ */
+final class LoadRecorder {
+
+    // Status recorded for requests that got no HTTP response (connect failure, timeout)
+    static final int NO_RESPONSE = 0;
+
+    private final Map<Operation, OperationRecorder> operations = new EnumMap<>(Operation.class);
+    private volatile boolean recording;
+    private volatile long recordingStartNanos;
+
+    LoadRecorder() {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new OperationRecorder());
+        }
+    }
+
+    void startRecording() {
+        recordingStartNanos = System.nanoTime();
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    long recordedNanos() {
+        return System.nanoTime() - recordingStartNanos;
+    }
+
+    void record(Operation operation, long latencyNanos, int status, boolean success) {
+        if (recording) {
+            operations.get(operation).record(latencyNanos, status, success);
+        }
+    }
+
+    OperationRecorder get(Operation operation) {
+        return operations.get(operation);
+    }
+
+    static final class OperationRecorder {
+
+        // Microseconds, up to an hour, 3 significant digits
+        private final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.HOURS.toMicros(1), 3);
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        private void record(long latencyNanos, int status, boolean success) {
+            latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), latencyMicros.getHighestTrackableValue()));
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        Histogram latencyMicros() {
+            return latencyMicros;
+        }
+
+        long errors() {
+            return errors.sum();
+        }
+
+        Map<String, Long> statuses() {
+            Map<String, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status == NO_RESPONSE ? "none" : String.valueOf(status), count.sum()));
+            return counts;
+        }
+    }
+}
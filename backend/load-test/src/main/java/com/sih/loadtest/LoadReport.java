@@ -0,0 +1,158 @@
+package com.sih.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of one run, written as JSON so runs of different releases can be diffed with {@link #compareTo}.
+ * Latencies are in milliseconds, throughput in requests per second.
+ */
+record LoadReport(
+        Instant startedAt,
+        String target,
+        boolean virtualThreads,
+        int users,
+        long durationSeconds,
+        Map<String, Integer> mix,
+        Map<String, OperationReport> operations,
+        OperationReport total) {
+
+    // Error rates are compared in absolute terms: 0.005 -> 0.015 is one point worse
+    static final double ERROR_RATE_TOLERANCE = 0.01;
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    record OperationReport(
+            long requests,
+            long errors,
+            double errorRate,
+            double throughputPerSecond,
+            Latency latencyMs,
+            Map<String, Long> statusCodes) {
+    }
+
+    record Latency(double mean, double p50, double p90, double p95, double p99, double p999, double max) {
+
+        static Latency of(Histogram micros) {
+            return new Latency(
+                    round(micros.getMean() / 1000.0),
+                    millis(micros, 50), millis(micros, 90), millis(micros, 95), millis(micros, 99), millis(micros, 99.9),
+                    round(micros.getMaxValue() / 1000.0));
+        }
+
+        private static double millis(Histogram micros, double percentile) {
+            return round(micros.getValueAtPercentile(percentile) / 1000.0);
+        }
+    }
+
+    static LoadReport from(LoadRecorder recorder, LoadTestOptions options, String target, Instant startedAt, double seconds) {
+        Map<String, OperationReport> operations = new LinkedHashMap<>();
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        Map<String, Long> statuses = new TreeMap<>();
+        for (Operation operation : Operation.values()) {
+            LoadRecorder.OperationRecorder recorded = recorder.get(operation);
+            Histogram latency = recorded.latencyMicros().copy();
+            if (latency.getTotalCount() == 0) {
+                continue;
+            }
+            operations.put(operation.label(), operationReport(latency, recorded.errors(), recorded.statuses(), seconds));
+            all.add(latency);
+            errors += recorded.errors();
+            recorded.statuses().forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix().forEach((operation, weight) -> mix.put(operation.label(), weight));
+        return new LoadReport(startedAt, target, options.virtualThreads(), options.users(), Math.round(seconds), mix,
+                operations, operationReport(all, errors, statuses, seconds));
+    }
+
+    private static OperationReport operationReport(Histogram latency, long errors, Map<String, Long> statuses, double seconds) {
+        long requests = latency.getTotalCount();
+        return new OperationReport(requests, errors, round((double) errors / requests, 4), round(requests / seconds),
+                Latency.of(latency), statuses);
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        JSON.writeValue(path.toFile(), this);
+    }
+
+    static LoadReport read(Path path) throws IOException {
+        return JSON.readValue(path.toFile(), LoadReport.class);
+    }
+
+    String summary() {
+        StringBuilder out = new StringBuilder(String.format("%-11s %9s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        operations.forEach((name, report) -> out.append(row(name, report)));
+        out.append(row("total", total));
+        return out.toString();
+    }
+
+    private static String row(String name, OperationReport report) {
+        return String.format("%-11s %9d %7.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, report.requests(),
+                report.errorRate() * 100, report.throughputPerSecond(), report.latencyMs().p50(), report.latencyMs().p95(),
+                report.latencyMs().p99(), report.latencyMs().max());
+    }
+
+    /**
+     * Regressions against an earlier run: throughput down, or p95/p99 up, by more than {@code maxRegressionPercent},
+     * or an error rate more than {@link #ERROR_RATE_TOLERANCE} higher. Empty if there are none.
+     */
+    List<String> compareTo(LoadReport baseline, double maxRegressionPercent) {
+        List<String> regressions = new ArrayList<>();
+        Map<String, OperationReport> current = new LinkedHashMap<>(operations);
+        current.put("total", total);
+        Map<String, OperationReport> previous = new LinkedHashMap<>(baseline.operations());
+        previous.put("total", baseline.total());
+        current.forEach((name, now) -> {
+            OperationReport before = previous.get(name);
+            if (before == null) {
+                return;
+            }
+            double limit = maxRegressionPercent / 100;
+            if (now.throughputPerSecond() < before.throughputPerSecond() * (1 - limit)) {
+                regressions.add(String.format("%s throughput %.1f -> %.1f req/s", name,
+                        before.throughputPerSecond(), now.throughputPerSecond()));
+            }
+            if (now.latencyMs().p95() > before.latencyMs().p95() * (1 + limit)) {
+                regressions.add(String.format("%s p95 %.1f -> %.1f ms", name, before.latencyMs().p95(), now.latencyMs().p95()));
+            }
+            if (now.latencyMs().p99() > before.latencyMs().p99() * (1 + limit)) {
+                regressions.add(String.format("%s p99 %.1f -> %.1f ms", name, before.latencyMs().p99(), now.latencyMs().p99()));
+            }
+            if (now.errorRate() > before.errorRate() + ERROR_RATE_TOLERANCE) {
+                regressions.add(String.format("%s error rate %.2f%% -> %.2f%%", name,
+                        before.errorRate() * 100, now.errorRate() * 100));
+            }
+        });
+        return regressions;
+    }
+
+    private static double round(double value) {
+        return round(value, 2);
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+}
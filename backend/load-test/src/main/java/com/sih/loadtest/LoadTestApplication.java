@@ -0,0 +1,85 @@
+package com.sih.loadtest;
+
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the student journey (signup, login, initialize, then a mix of paths/update/stats) against auth-service and
+ * user-service and writes throughput, latency percentiles and error rates as a JSON baseline.
+ * <p>
+ * Build both services ({@code mvn package -DskipTests}), then from this module:
+ * {@code mvn package && java -jar target/load-test-0.0.1-SNAPSHOT.jar [--users=50] [--duration-seconds=60]
+ * [--baseline=previous.json]}. With {@code --baseline} the exit code is 1 when the run regressed.
+ * See {@link LoadTestOptions} for the rest.
+ * <p>
+ * {@code --mix=login:1} is the login-path scenario: every session action is POST /auth/login, which auth-service
+ * answers by validating the password against user-service. Run it with {@code --virtual-threads=false} and again with
+ * {@code --virtual-threads=true} to compare the thread modes on the path that holds a request across both services.
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadReport report;
+        if (options.bootServices()) {
+            try (LocalStack stack = LocalStack.start(options)) {
+                report = run(options, stack.userServiceUrl(), stack.authServiceUrl(), "embedded");
+            }
+        } else {
+            report = run(options, options.userServiceUrl(), options.authServiceUrl(), options.authServiceUrl());
+        }
+        report.write(options.output());
+        System.out.print(report.summary());
+        System.out.println("Report written to " + options.output().toAbsolutePath());
+
+        if (options.baseline() != null && Files.exists(options.baseline())) {
+            List<String> regressions = report.compareTo(LoadReport.read(options.baseline()), options.maxRegressionPercent());
+            if (!regressions.isEmpty()) {
+                System.out.println("Regressions against " + options.baseline() + ":");
+                regressions.forEach(regression -> System.out.println("  " + regression));
+                System.exit(1);
+            }
+            System.out.println("No regressions against " + options.baseline());
+        }
+    }
+
+    private static LoadReport run(LoadTestOptions options, String userServiceUrl, String authServiceUrl, String target)
+            throws Exception {
+        LoadRecorder recorder = new LoadRecorder();
+        ApiClient client = new ApiClient(userServiceUrl, authServiceUrl, recorder);
+        client.ensurePaths(options.paths());
+
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<VirtualUser> users = new ArrayList<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < options.users(); i++) {
+            VirtualUser user = new VirtualUser(client, options, runId, i);
+            users.add(user);
+            executor.submit(user);
+        }
+        System.out.printf("%d users, warming up for %ds%n", options.users(), options.warmup().toSeconds());
+        Thread.sleep(options.warmup());
+
+        Instant startedAt = Instant.now();
+        recorder.startRecording();
+        System.out.printf("Measuring for %ds%n", options.duration().toSeconds());
+        Thread.sleep(options.duration());
+        recorder.stopRecording();
+        double seconds = recorder.recordedNanos() / 1e9;
+
+        users.forEach(VirtualUser::stop);
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+        }
+        return LoadReport.from(recorder, options, target, startedAt, seconds);
+    }
+}
@@ -0,0 +1,87 @@
+package com.sih.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, all {@code --name=value}. Without {@code --user-service-url}/{@code --auth-service-url} both
+ * services are booted from their jars against an embedded Postgres.
+ */
+record LoadTestOptions(
+        String userServiceUrl,
+        String authServiceUrl,
+        Path userServiceJar,
+        Path authServiceJar,
+        boolean virtualThreads,
+        int users,
+        Duration warmup,
+        Duration duration,
+        int actionsPerSession,
+        Map<Operation, Integer> mix,
+        Duration thinkTime,
+        int paths,
+        Path output,
+        Path baseline,
+        double maxRegressionPercent) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                values.remove("user-service-url"),
+                values.remove("auth-service-url"),
+                Path.of(take(values, "user-service-jar", "../user-service/target/user-service-0.0.1-SNAPSHOT.jar")),
+                Path.of(take(values, "auth-service-jar", "../auth-service/target/auth-service-0.0.1-SNAPSHOT.jar")),
+                Boolean.parseBoolean(take(values, "virtual-threads", "false")),
+                Integer.parseInt(take(values, "users", "50")),
+                Duration.ofSeconds(Long.parseLong(take(values, "warmup-seconds", "15"))),
+                Duration.ofSeconds(Long.parseLong(take(values, "duration-seconds", "60"))),
+                Integer.parseInt(take(values, "actions-per-session", "20")),
+                parseMix(take(values, "mix", "paths:3,update:5,stats:2")),
+                Duration.ofMillis(Long.parseLong(take(values, "think-time-ms", "0"))),
+                Integer.parseInt(take(values, "paths", "6")),
+                Path.of(take(values, "output", "target/load-baseline.json")),
+                values.containsKey("baseline") ? Path.of(values.remove("baseline")) : null,
+                Double.parseDouble(take(values, "max-regression-percent", "10")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if ((options.userServiceUrl == null) != (options.authServiceUrl == null)) {
+            throw new IllegalArgumentException("Give both --user-service-url and --auth-service-url, or neither");
+        }
+        return options;
+    }
+
+    boolean bootServices() {
+        return userServiceUrl == null;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    // "paths:3,update:5,stats:2" -> weights of the actions repeated after signup, login and initialize;
+    // "login:1" repeats only the login, auth-service's bcrypt check against user-service
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = Operation.fromName(parts[0].trim());
+            if (!operation.isSessionAction()) {
+                throw new IllegalArgumentException(operation.label() + " runs once per session and cannot be in the mix");
+            }
+            mix.put(operation, Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,143 @@
+package com.sih.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded Postgres plus user-service and auth-service, each started from its jar in a child JVM. Service output goes
+ * to target/&lt;service&gt;.log.
+ */
+final class LocalStack implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    // Throwaway key for the local run; auth-service needs one long enough for HS512
+    private static final String JWT_SECRET = "load-test-only-secret-that-is-long-enough-for-hs512-signing-0123456789";
+
+    private final EmbeddedPostgres postgres;
+    private final List<Process> services = new ArrayList<>();
+    private String userServiceUrl;
+    private String authServiceUrl;
+
+    private LocalStack(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    static LocalStack start(LoadTestOptions options) throws Exception {
+        requireJar(options.userServiceJar());
+        requireJar(options.authServiceJar());
+        LocalStack stack = new LocalStack(EmbeddedPostgres.builder().start());
+        try {
+            int userPort = freePort();
+            int authPort = freePort();
+            stack.userServiceUrl = "http://localhost:" + userPort;
+            stack.authServiceUrl = "http://localhost:" + authPort;
+            stack.launch("user-service", options, List.of(
+                    "--server.port=" + userPort,
+                    "--spring.datasource.url=" + stack.postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=postgres"));
+            stack.awaitHealthy("user-service", stack.userServiceUrl);
+            stack.launch("auth-service", options, List.of(
+                    "--server.port=" + authPort,
+                    "--user.service.url=" + stack.userServiceUrl,
+                    "--jwt.secret=" + JWT_SECRET));
+            stack.awaitHealthy("auth-service", stack.authServiceUrl);
+            return stack;
+        } catch (Exception e) {
+            stack.close();
+            throw e;
+        }
+    }
+
+    String userServiceUrl() {
+        return userServiceUrl;
+    }
+
+    String authServiceUrl() {
+        return authServiceUrl;
+    }
+
+    private void launch(String name, LoadTestOptions options, List<String> arguments) throws IOException {
+        Path jar = name.equals("user-service") ? options.userServiceJar() : options.authServiceJar();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(arguments);
+        Path log = Path.of("target", name + ".log");
+        Files.createDirectories(log.getParent());
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        builder.environment().put("VIRTUAL_THREADS_ENABLED", String.valueOf(options.virtualThreads()));
+        services.add(builder.start());
+        System.out.printf("Started %s (log: %s)%n", name, log.toAbsolutePath());
+    }
+
+    private void awaitHealthy(String name, String baseUrl) throws Exception {
+        Process process = services.get(services.size() - 1);
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + "; see target/" + name + ".log");
+            }
+            try {
+                // auth-service keeps actuator behind its security chain; Tomcat only answers once the context is up
+                int status = client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200 || status == 401 || status == 403) {
+                    return;
+                }
+            } catch (IOException notUpYet) {
+                // still starting
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " not healthy after " + STARTUP_TIMEOUT.toSeconds() + "s; see target/" + name + ".log");
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Reverse order: auth-service before the user-service it calls, Postgres last
+        for (int i = services.size() - 1; i >= 0; i--) {
+            Process process = services.get(i);
+            process.destroy();
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        postgres.close();
+    }
+
+    private static void requireJar(Path jar) {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException(jar.toAbsolutePath() + " not found; run mvn package -DskipTests in the service first"
+                    + " or pass --user-service-jar/--auth-service-jar");
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.sih.loadtest;
+
+import java.util.Arrays;
+
+/** The requests a simulated user makes; each is reported separately. */
+enum Operation {
+    SIGNUP("signup", false),
+    // Also repeatable: --mix=login:1 turns the sessions into the login-path scenario
+    LOGIN("login", true),
+    INITIALIZE("initialize", false),
+    PATHS("paths", true),
+    UPDATE("update", true),
+    STATS("stats", true);
+
+    private final String label;
+    private final boolean sessionAction;
+
+    Operation(String label, boolean sessionAction) {
+        this.label = label;
+        this.sessionAction = sessionAction;
+    }
+
+    String label() {
+        return label;
+    }
+
+    // Can be repeated within a session according to the mix, not only run once at its start
+    boolean isSessionAction() {
+        return sessionAction;
+    }
+
+    static Operation fromName(String label) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.label.equals(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + label));
+    }
+}
@@ -0,0 +1,92 @@
+package com.sih.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated student, looping over sessions until stopped: sign up, log in, initialize progress, then
+ * {@code actionsPerSession} actions drawn from the weighted mix (paths, update, stats, or repeated logins). Closed loop: the next request is sent when the previous
+ * one completes (plus think time).
+ */
+final class VirtualUser implements Runnable {
+
+    private static final String PASSWORD = "LoadTest#2024";
+
+    private final ApiClient client;
+    private final LoadTestOptions options;
+    private final String runId;
+    private final int index;
+    private final Operation[] weightedActions;
+    private volatile boolean stopped;
+    private ApiClient.PathCatalog catalog = ApiClient.PathCatalog.EMPTY;
+
+    VirtualUser(ApiClient client, LoadTestOptions options, String runId, int index) {
+        this.client = client;
+        this.options = options;
+        this.runId = runId;
+        this.index = index;
+        this.weightedActions = expand(options.mix());
+    }
+
+    void stop() {
+        stopped = true;
+    }
+
+    @Override
+    public void run() {
+        for (int session = 0; !stopped && !Thread.currentThread().isInterrupted(); session++) {
+            runSession("load-" + runId + "-" + index + "-" + session + "@load.local");
+        }
+    }
+
+    private void runSession(String email) {
+        if (client.signup(email, PASSWORD) == null || !thinkTime()) {
+            return;
+        }
+        String token = client.login(email, PASSWORD);
+        if (token == null || !thinkTime()) {
+            return;
+        }
+        long userId = client.userIdOf(token);
+        if (!client.initialize(userId)) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < options.actionsPerSession() && !stopped && thinkTime(); i++) {
+            Operation action = weightedActions[random.nextInt(weightedActions.length)];
+            if (action == Operation.UPDATE && catalog.pathIds().isEmpty()) {
+                // The browser loads the catalog before it can show any path
+                action = Operation.PATHS;
+            }
+            switch (action) {
+                case PATHS -> catalog = client.paths(catalog);
+                case UPDATE -> client.update(userId, catalog.pathIds().get(random.nextInt(catalog.pathIds().size())),
+                        random.nextInt(15, 36));
+                case STATS -> client.stats(userId);
+                case LOGIN -> client.login(email, PASSWORD);
+                default -> throw new IllegalStateException("Not a session action: " + action);
+            }
+        }
+    }
+
+    private boolean thinkTime() {
+        Duration thinkTime = options.thinkTime();
+        if (thinkTime.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(thinkTime);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Operation[] expand(Map<Operation, Integer> mix) {
+        return mix.entrySet().stream()
+                .flatMap(entry -> java.util.stream.Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+    }
+}
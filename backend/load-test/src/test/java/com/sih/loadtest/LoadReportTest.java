@@ -0,0 +1,50 @@
+package com.sih.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadReportTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void survivesAJsonRoundTrip() throws Exception {
+        LoadReport report = report(100, 20, 0.0);
+        Path file = tempDir.resolve("baseline.json");
+
+        report.write(file);
+
+        assertThat(LoadReport.read(file)).isEqualTo(report);
+    }
+
+    @Test
+    void sameNumbersAreNotARegression() {
+        assertThat(report(100, 20, 0.0).compareTo(report(100, 20, 0.0), 10)).isEmpty();
+    }
+
+    @Test
+    void flagsThroughputLatencyAndErrorRateRegressions() {
+        LoadReport baseline = report(100, 20, 0.0);
+
+        assertThat(report(85, 20, 0.0).compareTo(baseline, 10))
+                .contains("update throughput 100.0 -> 85.0 req/s", "total throughput 100.0 -> 85.0 req/s");
+        assertThat(report(100, 25, 0.0).compareTo(baseline, 10)).contains("update p95 20.0 -> 25.0 ms");
+        assertThat(report(100, 20, 0.02).compareTo(baseline, 10)).contains("update error rate 0.00% -> 2.00%");
+        // Within tolerance
+        assertThat(report(95, 21, 0.005).compareTo(baseline, 10)).isEmpty();
+    }
+
+    private static LoadReport report(double throughput, double p95, double errorRate) {
+        LoadReport.OperationReport update = new LoadReport.OperationReport(6000, Math.round(6000 * errorRate), errorRate,
+                throughput, new LoadReport.Latency(8, 5, 15, p95, 40, 80, 120), Map.of("200", 6000L));
+        return new LoadReport(Instant.parse("2024-01-01T00:00:00Z"), "embedded", false, 50, 60,
+                Map.of("update", 5), Map.of("update", update), update);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import com.sih.userservice.repository.UserRepository;
 import com.sih.userservice.entity.User;
+import com.sih.userservice.service.ProgressTrackingService;
 
 @SpringBootApplication
 public class UserServiceApplication {
@@ -32,4 +33,9 @@ public class UserServiceApplication {
             }
         };
     }
+
+    @Bean
+    CommandLineRunner seedLearningPaths(ProgressTrackingService progressTrackingService) {
+        return args -> progressTrackingService.initializeLearningPathsIfEmpty();
+    }
 }
@@ -0,0 +1,110 @@
+package com.sih.userservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently, so their own reads stay on the primary until every replica that is
+ * still in use must have replayed the write. The user of a request is taken from its {userId} path variable
+ * by {@link Interceptor}. State is per instance: a user whose next request lands on another instance can
+ * still read up to the configured replica lag behind.
+ */
+public class ReadYourWritesTracker {
+
+    private final ThreadLocal<Long> currentUser = new ThreadLocal<>();
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000;
+    }
+
+    public void recordWrite(Long userId) {
+        stickyUntil.put(userId, System.nanoTime() + windowNanos);
+    }
+
+    public boolean isCurrentUserSticky() {
+        Long userId = currentUser.get();
+        if (userId == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(userId);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    void bind(Long userId) {
+        currentUser.set(userId);
+    }
+
+    void unbind() {
+        currentUser.remove();
+    }
+
+    /**
+     * Binds the {userId} of the request for routing, and marks the user sticky after a successful write
+     * (PUT /api/progress/update/{userId}, POST /api/progress/initialize/{userId}, ...), once the service
+     * transaction has committed.
+     */
+    public static class Interceptor implements AsyncHandlerInterceptor {
+
+        private final ReadYourWritesTracker tracker;
+
+        public Interceptor(ReadYourWritesTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            Long userId = userIdOf(request);
+            if (userId != null) {
+                tracker.bind(userId);
+            }
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+            try {
+                Long userId = userIdOf(request);
+                if (userId != null && ex == null && response.getStatus() < 400 && isWrite(request.getMethod())) {
+                    tracker.recordWrite(userId);
+                }
+            } finally {
+                tracker.unbind();
+            }
+        }
+
+        // Async handlers (the progress stream) release the request thread without afterCompletion on it
+        @Override
+        public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            tracker.unbind();
+        }
+
+        private static boolean isWrite(String method) {
+            return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+        }
+
+        private static Long userIdOf(HttpServletRequest request) {
+            Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            if (!(variables instanceof Map<?, ?> map)) {
+                return null;
+            }
+            Object userId = map.get("userId");
+            try {
+                return userId == null ? null : Long.valueOf(userId.toString());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
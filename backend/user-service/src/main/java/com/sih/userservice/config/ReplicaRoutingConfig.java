@@ -0,0 +1,111 @@
+package com.sih.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sends read-only service transactions to streaming replicas (datasource.replicas.*). The application's
+ * DataSource becomes a {@link LazyConnectionDataSourceProxy} over the primary pool: it only fetches a physical
+ * connection at the first statement, by which point the transaction has marked the connection read-only, and
+ * read-only connections come from {@link ReplicaRoutingDataSource}. Flyway, writes and everything outside a
+ * read-only transaction keep using the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+
+    @Value("${datasource.replicas.lag-check-interval-ms:500}")
+    private long lagCheckIntervalMillis;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${datasource.replicas.max-lag-ms:1000}") long maxLagMillis) {
+        // A replica in rotation replayed everything older than max-lag at its last check, and checks are at
+        // most one interval old, so after max-lag + interval any replica in rotation has the user's write
+        return new ReadYourWritesTracker(maxLagMillis + lagCheckIntervalMillis);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry,
+            DataSourceProperties properties,
+            @Value("${datasource.replicas.urls}") String urls,
+            @Value("${datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMillis,
+            @Value("${datasource.replicas.max-lag-ms:1000}") long maxLagMillis,
+            @Value("${datasource.replicas.service-transaction-prefix:com.sih.userservice.service.}") String servicePrefix,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : Arrays.stream(urls.split(",")).map(String::trim).filter(u -> !u.isEmpty()).toList()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (replicaPools.size() + 1));
+            pool.setJdbcUrl(url);
+            pool.setUsername(properties.determineUsername());
+            pool.setPassword(properties.determinePassword());
+            pool.setMaximumPoolSize(maximumPoolSize);
+            pool.setConnectionTimeout(connectionTimeoutMillis);
+            pool.setReadOnly(true);
+            // Lag checks must not fail the startup while a replica is down
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicaPools.add(pool);
+            // Same admission queue as the primary pool gets in virtual-thread mode (VirtualThreadDataSourceConfig)
+            replicas.add(virtualThreads ? new ConnectionLimitingDataSource(pool, maximumPoolSize, connectionTimeoutMillis) : pool);
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("datasource.replicas.enabled is set but datasource.replicas.urls is empty");
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker, maxLagMillis, lagCheckIntervalMillis,
+                servicePrefix, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, ReplicaRoutingDataSource replicas) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(replicas);
+        return proxy;
+    }
+
+    @Bean
+    public WebMvcConfigurer readYourWritesInterceptor(ReadYourWritesTracker readYourWritesTracker) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ReadYourWritesTracker.Interceptor(readYourWritesTracker));
+            }
+        };
+    }
+
+    @PreDestroy
+    public void closeReplicaPools() {
+        replicaPools.forEach(HikariDataSource::close);
+    }
+}
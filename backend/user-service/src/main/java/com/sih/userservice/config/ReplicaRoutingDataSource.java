@@ -0,0 +1,213 @@
+package com.sih.userservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only side of the routing: the {@code LazyConnectionDataSourceProxy} in {@link ReplicaRoutingConfig} asks
+ * it for a connection when a transaction marked its connection read-only. Only transactions started by the
+ * service layer ({@code @Transactional(readOnly = true)} on a service method, matched by transaction name) go
+ * to a replica; Spring Data's own read-only finders stay on the primary because what they load is usually
+ * written back. Replicas are used round-robin while their last measured lag is within the limit, and never
+ * for a user who wrote within the read-your-writes window. Everything else falls back to the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    // Lag of a replica that is down, not a standby, or has not been checked yet
+    static final long UNAVAILABLE = Long.MAX_VALUE;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final long maxLagMillis;
+    private final long lagCheckIntervalMillis;
+    private final String serviceTransactionPrefix;
+    private final AtomicInteger next = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+    private final ScheduledExecutorService lagChecker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("replica-lag-check").daemon(true).factory());
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker readYourWrites,
+                                    long maxLagMillis, long lagCheckIntervalMillis, String serviceTransactionPrefix,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.readYourWrites = readYourWrites;
+        this.maxLagMillis = maxLagMillis;
+        this.lagCheckIntervalMillis = lagCheckIntervalMillis;
+        this.serviceTransactionPrefix = serviceTransactionPrefix;
+        this.meterRegistry = meterRegistry;
+        this.replicas = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = new Replica("replica-" + (i + 1), replicas.get(i));
+            this.replicas.add(replica);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMillis == UNAVAILABLE ? Double.NaN : r.lagMillis)
+                    .tag("replica", replica.name)
+                    .baseUnit("milliseconds")
+                    .description("Replay lag behind the primary at the last check; NaN while unavailable")
+                    .register(meterRegistry);
+        }
+        this.stickyReads = reads("primary", "sticky");
+        this.fallbackReads = reads("primary", "no-replica");
+    }
+
+    // Replicas start out of rotation; the first check runs right away
+    @PostConstruct
+    public void startLagChecks() {
+        lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0, lagCheckIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopLagChecks() {
+        lagChecker.shutdownNow();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!isServiceReadOnlyTransaction()) {
+            return primary.getConnection();
+        }
+        if (readYourWrites.isCurrentUserSticky()) {
+            stickyReads.increment();
+            return primary.getConnection();
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.lagMillis > maxLagMillis) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.reads.increment();
+                return connection;
+            } catch (SQLTransientConnectionException e) {
+                // Pool exhausted: the primary takes the overflow, the replica stays in rotation
+                log.debug("No free connection on {}: {}", replica.name, e.getMessage());
+            } catch (SQLException e) {
+                log.warn("{} failed, routing reads to the primary until the next check: {}", replica.name, e.getMessage());
+                replica.lagMillis = UNAVAILABLE;
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica routing uses the pools' own credentials");
+    }
+
+    private boolean isServiceReadOnlyTransaction() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && name != null && name.startsWith(serviceTransactionPrefix);
+    }
+
+    /**
+     * Measures every replica's replay lag: zero once it has replayed all WAL the primary had written, otherwise
+     * the age of the last transaction it replayed. A replica that cannot be reached, or is not in recovery,
+     * is taken out of rotation until a later check succeeds.
+     */
+    public void checkReplicas() {
+        readYourWrites.purgeExpired();
+        for (Replica replica : replicas) {
+            long lag;
+            try {
+                lag = measureLag(replica);
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Lag check of {} failed: {}", replica.name, e.getMessage());
+                lag = UNAVAILABLE;
+            }
+            if ((lag > maxLagMillis) != (replica.lagMillis > maxLagMillis)) {
+                log.info("{} {} (lag {} ms)", replica.name, lag > maxLagMillis ? "out of rotation" : "in rotation",
+                        lag == UNAVAILABLE ? "unknown" : lag);
+            }
+            replica.lagMillis = lag;
+        }
+    }
+
+    private long measureLag(Replica replica) throws SQLException {
+        String replayLsn;
+        Double replayAgeMillis;
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_is_in_recovery(), pg_last_wal_replay_lsn(), "
+                     + "extract(epoch FROM now() - pg_last_xact_replay_timestamp()) * 1000")) {
+            rs.next();
+            if (!rs.getBoolean(1)) {
+                log.warn("{} is not a standby", replica.name);
+                return UNAVAILABLE;
+            }
+            replayLsn = rs.getString(2);
+            replayAgeMillis = rs.getObject(3) == null ? null : rs.getDouble(3);
+        }
+        if (replayLsn == null) {
+            return UNAVAILABLE;
+        }
+        try (Connection connection = primary.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), ?::pg_lsn)")) {
+            statement.setString(1, replayLsn);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                if (rs.getLong(1) <= 0) {
+                    return 0;
+                }
+            }
+        }
+        return replayAgeMillis == null ? UNAVAILABLE : Math.max(0, Math.round(replayAgeMillis));
+    }
+
+    // Package-private for tests
+    long lagMillis(int replica) {
+        return replicas.get(replica).lagMillis;
+    }
+
+    void updateLag(int replica, long lagMillis) {
+        replicas.get(replica).lagMillis = lagMillis;
+    }
+
+    private Counter reads(String target, String reason) {
+        return Counter.builder("datasource.reads")
+                .description("Read-only service transactions by the pool that served them")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile long lagMillis = UNAVAILABLE;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads(name, "replica");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.sih.userservice.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Created by Hibernate for every session (hibernate.session.events.auto) and reports into the request's
+ * {@link RequestStatementStats}, if one is open on the calling thread.
+ */
+public class RequestStatementListener implements SessionEventListener {
+
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        RequestStatementStats stats = RequestStatementStats.current();
+        if (stats != null) {
+            stats.statementPrepared();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addDbTime(executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestStatementStats stats = RequestStatementStats.current();
+        if (stats != null) {
+            stats.batchExecuted();
+        }
+        addDbTime(batchStart);
+    }
+
+    @Override
+    public void flushStart() {
+        RequestStatementStats stats = RequestStatementStats.current();
+        if (stats != null) {
+            stats.flushed();
+        }
+    }
+
+    private static void addDbTime(long start) {
+        RequestStatementStats stats = RequestStatementStats.current();
+        if (stats != null) {
+            stats.addDbTime(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sih.userservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Per-endpoint Hibernate accounting: statements, batches, entity loads, flushes and time in the database for
+ * every request, as hibernate.request.* meters. Cheap enough to leave on, unlike show-sql.
+ */
+@Configuration
+@ConditionalOnProperty(name = "metrics.hibernate.per-request.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestStatementMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatementListeners() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RequestStatementListener.class.getName());
+            properties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(new EntityLoadIntegrator()));
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestStatementMetricsFilter> requestStatementMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestStatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestStatementMetricsFilter(meterRegistry));
+        // Outermost, so everything the request triggers is counted
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // Entity loads have no session event, so count them with a post-load listener
+    static class EntityLoadIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> {
+                        RequestStatementStats stats = RequestStatementStats.current();
+                        if (stats != null) {
+                            stats.entityLoaded();
+                        }
+                    });
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
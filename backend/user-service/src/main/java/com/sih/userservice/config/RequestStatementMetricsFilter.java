@@ -0,0 +1,62 @@
+package com.sih.userservice.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link RequestStatementStats} around each request and records it per endpoint, tagged like
+ * http.server.requests. The stats are also left on the request for {@code StatementBudget} in tests.
+ */
+@RequiredArgsConstructor
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatementStats stats = RequestStatementStats.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatementStats.close();
+            request.setAttribute(RequestStatementStats.REQUEST_ATTRIBUTE, stats);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatementStats stats) {
+        // Only requests that reached a controller; raw paths would make the uri tag unbounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern.toString());
+        DistributionSummary.builder("hibernate.request.statements")
+                .description("JDBC statements Hibernate prepared while serving the request")
+                .tags(tags).register(meterRegistry).record(stats.getStatements());
+        DistributionSummary.builder("hibernate.request.batches")
+                .description("JDBC batches Hibernate executed while serving the request")
+                .tags(tags).register(meterRegistry).record(stats.getBatches());
+        DistributionSummary.builder("hibernate.request.entity.loads")
+                .description("Entities Hibernate loaded while serving the request")
+                .tags(tags).register(meterRegistry).record(stats.getEntityLoads());
+        DistributionSummary.builder("hibernate.request.flushes")
+                .description("Session flushes while serving the request")
+                .tags(tags).register(meterRegistry).record(stats.getFlushes());
+        Timer.builder("hibernate.request.db.time")
+                .description("Time spent executing Hibernate statements while serving the request")
+                .tags(tags).register(meterRegistry).record(stats.getDbTime());
+    }
+}
@@ -0,0 +1,68 @@
+package com.sih.userservice.config;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Hibernate work done while serving one HTTP request. {@link RequestStatementMetricsFilter} opens one per request on
+ * the serving thread; the Hibernate listeners add to whichever is open. Statements issued outside Hibernate
+ * (JdbcTemplate) and work done on other threads (reward workers) are not counted.
+ */
+@Getter
+public class RequestStatementStats {
+
+    public static final String REQUEST_ATTRIBUTE = RequestStatementStats.class.getName();
+
+    private static final ThreadLocal<RequestStatementStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long batches;
+    private long entityLoads;
+    private long flushes;
+    private long dbTimeNanos;
+
+    static RequestStatementStats open() {
+        RequestStatementStats stats = new RequestStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    static RequestStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public Duration getDbTime() {
+        return Duration.ofNanos(dbTimeNanos);
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void batchExecuted() {
+        batches++;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void flushed() {
+        flushes++;
+    }
+
+    void addDbTime(long nanos) {
+        dbTimeNanos += nanos;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + batches + " batches, " + entityLoads + " entity loads, "
+                + flushes + " flushes, " + getDbTime().toMillis() + " ms in the database";
+    }
+}
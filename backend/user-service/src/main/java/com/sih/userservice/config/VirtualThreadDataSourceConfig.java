@@ -0,0 +1,47 @@
+package com.sih.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In virtual-thread mode request concurrency is no longer capped by the Tomcat pool, so the Hikari pool
+ * becomes the only bound on DB concurrency. Front it with {@link ConnectionLimitingDataSource}, sized
+ * and timed out like the pool itself.
+ *
+ * <p>Under overload the admission timeout sheds load on purpose. Platform mode never lets more than the Tomcat
+ * pool in, and the rest wait unbounded in the accept queue; here every request gets a virtual thread and queues
+ * for a connection. Once the queue is longer than the pool can drain within connection-timeout, as at 2000
+ * closed-loop clients against 10 connections serving a few hundred requests per second, the excess fails after
+ * 3s instead of holding its caller for the ten seconds or more it would otherwise wait. Raising the timeout
+ * only moves those failures into client timeouts, with more requests held in memory meanwhile.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(
+                            hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                    meterRegistry.ifAvailable(registry -> Gauge.builder("jdbc.connections.admission.waiting", limited,
+                                    ConnectionLimitingDataSource::getWaitingCount)
+                            .description("Requests queued for a database connection ahead of the pool")
+                            .register(registry));
+                    return limited;
+                }
+                return bean;
+            }
+        };
+    }
+}
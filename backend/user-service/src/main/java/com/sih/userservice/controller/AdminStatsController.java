@@ -0,0 +1,21 @@
+package com.sih.userservice.controller;
+
+import com.sih.userservice.dto.AdminStatsResponse;
+import com.sih.userservice.service.AdminStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminStatsController {
+
+    private final AdminStatsService adminStatsService;
+
+    // Served from the in-memory rollups; see reconciledAt for when they were last checked against the tables
+    @GetMapping("/stats")
+    public ResponseEntity<AdminStatsResponse> getStats() {
+        return ResponseEntity.ok(adminStatsService.getStats());
+    }
+}
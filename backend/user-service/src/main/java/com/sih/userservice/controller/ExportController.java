@@ -0,0 +1,38 @@
+package com.sih.userservice.controller;
+
+import com.sih.userservice.service.UserExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final UserExportService userExportService;
+
+    // Written on the request thread straight to the response, so long exports are not cut off by the async timeout
+    @GetMapping("/{dataset}")
+    public void export(@PathVariable String dataset,
+                       @RequestParam(defaultValue = "csv") String format,
+                       HttpServletResponse response) throws IOException {
+        UserExportService.Dataset exportDataset;
+        UserExportService.Format exportFormat;
+        try {
+            exportDataset = UserExportService.Dataset.fromName(dataset);
+            exportFormat = UserExportService.Format.fromName(format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + exportDataset.getName() + "." + exportFormat.getExtension() + "\"");
+        userExportService.export(exportDataset, exportFormat, response.getOutputStream());
+    }
+}
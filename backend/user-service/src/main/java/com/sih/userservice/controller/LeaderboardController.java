@@ -0,0 +1,44 @@
+package com.sih.userservice.controller;
+
+import com.sih.userservice.dto.LeaderboardEntryResponse;
+import com.sih.userservice.dto.LeaderboardPositionResponse;
+import com.sih.userservice.entity.User;
+import com.sih.userservice.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+    
+    private static final int MAX_LIMIT = 100;
+    
+    private final LeaderboardService leaderboardService;
+    
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntryResponse>> getTop(
+            @RequestParam(required = false) User.Role role,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(leaderboardService.getTop(role, Math.min(limit, MAX_LIMIT)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<LeaderboardPositionResponse> getPosition(
+            @PathVariable Long userId,
+            @RequestParam(required = false) User.Role role,
+            @RequestParam(defaultValue = "5") int radius) {
+        try {
+            return ResponseEntity.ok(leaderboardService.getPosition(userId, role, Math.min(radius, MAX_LIMIT)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
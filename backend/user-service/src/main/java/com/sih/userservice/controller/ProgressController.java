@@ -1,11 +1,21 @@
 package com.sih.userservice.controller;
 
 import com.sih.userservice.dto.*;
+import com.sih.userservice.service.LearningPathCatalog;
+import com.sih.userservice.service.LearningPathNotFoundException;
+import com.sih.userservice.service.ProgressStreamService;
 import com.sih.userservice.service.ProgressTrackingService;
+import com.sih.userservice.service.UserActivityService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -14,6 +24,8 @@ import java.util.List;
 public class ProgressController {
     
     private final ProgressTrackingService progressTrackingService;
+    private final ProgressStreamService progressStreamService;
+    private final UserActivityService userActivityService;
     
     @PostMapping("/initialize/{userId}")
     public ResponseEntity<String> initializeUserProgress(@PathVariable Long userId) {
@@ -25,6 +37,16 @@ public class ProgressController {
         }
     }
     
+    @PostMapping("/initialize")
+    public ResponseEntity<InitializeProgressResponse> initializeUserProgress(@RequestBody InitializeProgressRequest request) {
+        try {
+            InitializeProgressResponse response = progressTrackingService.initializeUserProgress(request.getUserIds());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @PutMapping("/update/{userId}")
     public ResponseEntity<UserProgressResponse> updateProgress(
             @PathVariable Long userId,
@@ -32,16 +54,42 @@ public class ProgressController {
         try {
             UserProgressResponse response = progressTrackingService.updateProgress(userId, request);
             return ResponseEntity.ok(response);
+        } catch (LearningPathNotFoundException e) {
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/paths")
-    public ResponseEntity<List<LearningPathResponse>> getAllLearningPaths() {
+    public ResponseEntity<List<LearningPathResponse>> getAllLearningPaths(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<LearningPathResponse> paths = progressTrackingService.getAllLearningPaths();
-            return ResponseEntity.ok(paths);
+            LearningPathCatalog.Snapshot catalog = progressTrackingService.getLearningPathCatalog();
+            if (ifNoneMatch != null && (ifNoneMatch.contains(catalog.etag()) || ifNoneMatch.trim().equals("*"))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalog.etag()).build();
+            }
+            return ResponseEntity.ok().eTag(catalog.etag()).body(catalog.activePaths());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/paths")
+    public ResponseEntity<LearningPathResponse> createLearningPath(@RequestBody LearningPathRequest request) {
+        try {
+            return ResponseEntity.ok(progressTrackingService.createLearningPath(request));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PutMapping("/paths/{pathId}")
+    public ResponseEntity<LearningPathResponse> updateLearningPath(
+            @PathVariable Long pathId,
+            @RequestBody LearningPathRequest request) {
+        try {
+            return ResponseEntity.ok(progressTrackingService.updateLearningPath(pathId, request));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -76,4 +124,34 @@ public class ProgressController {
             return ResponseEntity.badRequest().build();
         }
     }
+    
+    // Calendar heatmap, streaks and weekly points; the last 52 weeks unless a range is given
+    @GetMapping("/activity/{userId}")
+    public ResponseEntity<UserActivityResponse> getUserActivity(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            LocalDate today = LocalDate.now();
+            LocalDate end = to != null ? to : today;
+            LocalDate start = from != null ? from : end.minusWeeks(52).plusDays(1);
+            return ResponseEntity.ok(userActivityService.getActivity(userId, start, end, today));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Pushes the dashboard's progress, achievements and stats as they change; browsers resend Last-Event-ID on reconnect
+    @GetMapping(value = "/stream/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamProgress(
+            @PathVariable Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return ResponseEntity.ok(progressStreamService.subscribe(userId, lastEventId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
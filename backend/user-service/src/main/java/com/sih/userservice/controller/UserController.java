@@ -1,19 +1,34 @@
 package com.sih.userservice.controller;
 
 import com.sih.userservice.dto.CreateUserRequest;
+import com.sih.userservice.dto.StudentImportResponse;
+import com.sih.userservice.dto.UserPageResponse;
 import com.sih.userservice.dto.UserResponse;
+import com.sih.userservice.entity.User;
+import com.sih.userservice.security.PasswordHashingRejectedException;
+import com.sih.userservice.service.EmailAlreadyInUseException;
+import com.sih.userservice.service.StudentImportService;
 import com.sih.userservice.service.UserService;
-import com.sih.userservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int MAX_LIMIT = 200;
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final UserService userService;
-    private final UserRepository userRepository;
+    private final StudentImportService studentImportService;
 
     @PostMapping("/student")
     public UserResponse registerStudent(@RequestBody CreateUserRequest request) {
@@ -46,19 +61,34 @@ public class UserController {
         return userService.getByEmail(email);
     }
 
+    // Keyset-paged like /search: pass nextCursor back as "after" until it is null
     @GetMapping("/pending")
-    public java.util.List<UserResponse> listPending() {
-        return userRepository.findAllPending().stream().map(u -> {
-            UserResponse r = new UserResponse();
-            r.setId(u.getId());
-            r.setEmail(u.getEmail());
-            r.setUsername(u.getUsername());
-            r.setFirstName(u.getFirstName());
-            r.setLastName(u.getLastName());
-            r.setRole(u.getRole());
-            r.setEnabled(u.isEnabled());
-            return r;
-        }).toList();
+    public UserPageResponse listPending(@RequestParam(required = false) Long after,
+                                        @RequestParam(defaultValue = "100") int limit) {
+        return userService.searchUsers(null, null, false, after, clampLimit(limit));
+    }
+
+    @GetMapping("/search")
+    public UserPageResponse search(@RequestParam(required = false) String q,
+                                   @RequestParam(required = false) User.Role role,
+                                   @RequestParam(required = false) Boolean enabled,
+                                   @RequestParam(required = false) Long after,
+                                   @RequestParam(defaultValue = "50") int limit) {
+        return userService.searchUsers(q, role, enabled, after, clampLimit(limit));
+    }
+
+    // Streams the upload: text/csv with a header row, or a JSON array / NDJSON of CreateUserRequest (role ignored)
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<StudentImportResponse> importStudents(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                InputStream body) {
+        try {
+            if (MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)) {
+                return ResponseEntity.ok(studentImportService.importCsv(body));
+            }
+            return ResponseEntity.ok(studentImportService.importJson(body));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PutMapping("/{id}/approve")
@@ -68,6 +98,22 @@ public class UserController {
 
     @DeleteMapping("/{id}")
     public void reject(@PathVariable Long id) {
-        userRepository.deleteById(id);
+        userService.deleteUser(id);
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<String> hashingBusy(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(EmailAlreadyInUseException.class)
+    public ResponseEntity<String> emailInUse(EmailAlreadyInUseException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
     }
 }
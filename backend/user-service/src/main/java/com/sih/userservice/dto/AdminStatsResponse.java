@@ -0,0 +1,23 @@
+package com.sih.userservice.dto;
+
+import com.sih.userservice.entity.User;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class AdminStatsResponse {
+    private Long totalUsers;
+    private Map<User.Role, Long> usersByRole;
+    // Accounts waiting for approval (enabled = false)
+    private Long pendingApprovals;
+    private List<PathCompletionsResponse> completionsByPath;
+    // Over every user_progress row
+    private Double averageProgressPercentage;
+    private Long certificatesIssued;
+    // Last time the rollups were checked against the base tables
+    private String reconciledAt;
+    // True until the first reconciliation after startup; the counts only hold the changes since then
+    private boolean warmingUp;
+}
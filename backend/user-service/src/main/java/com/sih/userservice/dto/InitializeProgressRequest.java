@@ -0,0 +1,10 @@
+package com.sih.userservice.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class InitializeProgressRequest {
+    private List<Long> userIds;
+}
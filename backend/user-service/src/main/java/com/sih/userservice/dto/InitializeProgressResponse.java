@@ -0,0 +1,12 @@
+package com.sih.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class InitializeProgressResponse {
+    private Integer usersRequested;
+    private Integer achievementsCreated;
+    private Integer progressRowsCreated;
+}
@@ -0,0 +1,14 @@
+package com.sih.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LeaderboardEntryResponse {
+    private Integer rank;
+    private Long userId;
+    private String username;
+    private Integer pointsEarned;
+    private Integer level;
+}
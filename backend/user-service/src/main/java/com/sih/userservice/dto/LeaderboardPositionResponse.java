@@ -0,0 +1,14 @@
+package com.sih.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LeaderboardPositionResponse {
+    private Integer rank;
+    private Integer totalRanked;
+    private List<LeaderboardEntryResponse> neighborhood;
+}
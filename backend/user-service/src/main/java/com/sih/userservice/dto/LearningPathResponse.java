@@ -1,5 +1,6 @@
 package com.sih.userservice.dto;
 
+import com.sih.userservice.entity.LearningPath;
 import lombok.Data;
 
 @Data
@@ -13,4 +14,18 @@ public class LearningPathResponse {
     private String bgColor;
     private Integer sortOrder;
     private Boolean isActive;
+    
+    public static LearningPathResponse fromEntity(LearningPath path) {
+        LearningPathResponse response = new LearningPathResponse();
+        response.setPathId(path.getPathId());
+        response.setTitle(path.getTitle());
+        response.setDescription(path.getDescription());
+        response.setTotalLessons(path.getTotalLessons());
+        response.setIcon(path.getIcon());
+        response.setColor(path.getColor());
+        response.setBgColor(path.getBgColor());
+        response.setSortOrder(path.getSortOrder());
+        response.setIsActive(path.getIsActive());
+        return response;
+    }
 }
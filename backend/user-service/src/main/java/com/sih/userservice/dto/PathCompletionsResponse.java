@@ -0,0 +1,13 @@
+package com.sih.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PathCompletionsResponse {
+    private Long pathId;
+    // Null for paths no longer in the catalog
+    private String title;
+    private Long completions;
+}
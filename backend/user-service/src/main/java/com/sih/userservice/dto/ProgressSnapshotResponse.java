@@ -0,0 +1,15 @@
+package com.sih.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// First event of a progress stream: what the three polled dashboard endpoints would return
+@Data
+@AllArgsConstructor
+public class ProgressSnapshotResponse {
+    private List<UserProgressResponse> progress;
+    private UserAchievementsResponse achievements;
+    private ProgressStatsResponse stats;
+}
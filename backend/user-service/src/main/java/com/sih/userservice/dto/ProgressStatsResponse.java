@@ -23,4 +23,11 @@ public class ProgressStatsResponse {
         this.streak = streak;
         this.completionPercentage = totalPaths > 0 ? (completedPaths.doubleValue() / totalPaths.doubleValue()) * 100.0 : 0.0;
     }
+    
+    // Used by JPQL constructor expressions, where COUNT() yields Long
+    public ProgressStatsResponse(Long totalPaths, Long completedPaths,
+                                Integer totalCertificates, Integer totalPoints,
+                                Integer level, Integer streak) {
+        this(totalPaths.intValue(), completedPaths.intValue(), totalCertificates, totalPoints, level, streak);
+    }
 }
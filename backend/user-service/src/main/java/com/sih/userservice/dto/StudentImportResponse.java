@@ -0,0 +1,27 @@
+package com.sih.userservice.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class StudentImportResponse {
+    private int total;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    private List<StudentImportRowResult> rows = new ArrayList<>();
+
+    public void add(StudentImportRowResult result) {
+        rows.add(result);
+        total++;
+        switch (result.getStatus()) {
+            case CREATED -> created++;
+            case DUPLICATE -> duplicates++;
+            case INVALID -> invalid++;
+            case FAILED -> failed++;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.sih.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StudentImportRowResult {
+
+    public enum Status { CREATED, DUPLICATE, INVALID, FAILED }
+
+    private int row; // 1-based, not counting a CSV header
+    private String email;
+    private Status status;
+    private Long userId;
+    private String message;
+}
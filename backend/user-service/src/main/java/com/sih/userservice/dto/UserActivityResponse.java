@@ -0,0 +1,19 @@
+package com.sih.userservice.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UserActivityResponse {
+    private String from;
+    private String to;
+    // Streaks are over the whole history, not just the requested range
+    private Integer currentStreak;
+    private Integer longestStreak;
+    private Integer activeDays;
+    // Calendar heatmap: every active day in the range
+    private List<String> activeDates;
+    // Every week touching the range, including those without points
+    private List<WeeklyPointsResponse> pointsByWeek;
+}
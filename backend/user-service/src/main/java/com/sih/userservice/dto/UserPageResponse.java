@@ -0,0 +1,14 @@
+package com.sih.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class UserPageResponse {
+    private List<UserResponse> users;
+    // Pass back as "after" for the next page; null on the last page
+    private Long nextCursor;
+}
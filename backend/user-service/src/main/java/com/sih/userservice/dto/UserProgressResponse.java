@@ -2,8 +2,12 @@ package com.sih.userservice.dto;
 
 import com.sih.userservice.entity.UserProgress;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class UserProgressResponse {
     private Long progressId;
     private Long pathId;
@@ -13,6 +17,18 @@ public class UserProgressResponse {
     private String status;
     private String updatedAt;
     
+    // Used by JPQL constructor expressions so the listing never materializes entities
+    public UserProgressResponse(Long progressId, Long pathId, String pathTitle, Integer lessonsCompleted,
+                                Double progressPercentage, UserProgress.Status status, LocalDateTime updatedAt) {
+        this.progressId = progressId;
+        this.pathId = pathId;
+        this.pathTitle = pathTitle;
+        this.lessonsCompleted = lessonsCompleted;
+        this.progressPercentage = progressPercentage;
+        this.status = status.name();
+        this.updatedAt = updatedAt.toString();
+    }
+    
     public static UserProgressResponse fromEntity(UserProgress progress) {
         UserProgressResponse response = new UserProgressResponse();
         response.setProgressId(progress.getProgressId());
@@ -0,0 +1,12 @@
+package com.sih.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class WeeklyPointsResponse {
+    // Monday of the week
+    private String weekStart;
+    private Integer points;
+}
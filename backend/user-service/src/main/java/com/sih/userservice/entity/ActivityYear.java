@@ -0,0 +1,157 @@
+package com.sih.userservice.entity;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * One user's activity in one calendar year, as stored in a user_activity row: a day bitmap (bit = day of
+ * year - 1, least significant bit first, as Postgres' set_bit numbers bytea bits) and the completion points
+ * per day as (varint days since the previous entry, varint points) pairs. Day and streak questions are
+ * answered on the bitmap's words; the points series is only decoded for weekly totals and to add points.
+ * Not thread-safe.
+ */
+public final class ActivityYear {
+
+    // 366 days rounded up to whole bytes
+    public static final int DAYS_BYTES = 46;
+
+    @FunctionalInterface
+    public interface DailyPoints {
+        void accept(int dayIndex, int points);
+    }
+
+    private final int year;
+    private final int length;
+    private final BitSet days;
+    private byte[] points;
+
+    public ActivityYear(int year, byte[] days, byte[] points) {
+        this.year = year;
+        this.length = Year.of(year).length();
+        this.days = BitSet.valueOf(days);
+        this.points = points;
+    }
+
+    public static ActivityYear empty(int year) {
+        return new ActivityYear(year, new byte[DAYS_BYTES], new byte[0]);
+    }
+
+    public int year() {
+        return year;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isActive(int dayIndex) {
+        return days.get(dayIndex);
+    }
+
+    public void markActive(int dayIndex) {
+        days.set(dayIndex);
+    }
+
+    // Active days in [fromIndex, toIndex)
+    public int activeDays(int fromIndex, int toIndex) {
+        return days.get(fromIndex, toIndex).cardinality();
+    }
+
+    public int nextActiveDay(int fromIndex) {
+        int next = days.nextSetBit(fromIndex);
+        return next >= length ? -1 : next;
+    }
+
+    // Consecutive active days up to and including dayIndex
+    public int runEndingAt(int dayIndex) {
+        return days.get(dayIndex) ? dayIndex - days.previousClearBit(dayIndex) : 0;
+    }
+
+    // Consecutive active days from 1 January
+    public int leadingRun() {
+        return Math.min(days.nextClearBit(0), length);
+    }
+
+    public int longestRun() {
+        int longest = 0;
+        for (int start = days.nextSetBit(0); start >= 0 && start < length; ) {
+            int end = Math.min(days.nextClearBit(start), length);
+            longest = Math.max(longest, end - start);
+            start = days.nextSetBit(end);
+        }
+        return longest;
+    }
+
+    public void forEachPoints(DailyPoints consumer) {
+        int[] position = {0};
+        int day = 0;
+        while (position[0] < points.length) {
+            day += readVarint(points, position);
+            consumer.accept(day, readVarint(points, position));
+        }
+    }
+
+    // Adds to the day's entry, inserting it in day order; also marks the day active
+    public void addPoints(int dayIndex, int added) {
+        markActive(dayIndex);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(points.length + 4);
+        int[] position = {0};
+        int day = 0;
+        int previous = 0;
+        boolean pending = true;
+        while (position[0] < points.length) {
+            day += readVarint(points, position);
+            int value = readVarint(points, position);
+            if (pending && day >= dayIndex) {
+                if (day == dayIndex) {
+                    value += added;
+                } else {
+                    writeEntry(encoded, dayIndex - previous, added);
+                    previous = dayIndex;
+                }
+                pending = false;
+            }
+            writeEntry(encoded, day - previous, value);
+            previous = day;
+        }
+        if (pending) {
+            writeEntry(encoded, dayIndex - previous, added);
+        }
+        points = encoded.toByteArray();
+    }
+
+    public byte[] daysBytes() {
+        return Arrays.copyOf(days.toByteArray(), DAYS_BYTES);
+    }
+
+    public byte[] pointsBytes() {
+        return points;
+    }
+
+    private static void writeEntry(ByteArrayOutputStream out, int dayDelta, int value) {
+        writeVarint(out, dayDelta);
+        writeVarint(out, value);
+    }
+
+    // Unsigned LEB128: 7 bits per byte, high bit set on all but the last
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -9,7 +9,8 @@ import lombok.Data;
 public class LearningPath {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "learning_paths_id_gen")
+    @SequenceGenerator(name = "learning_paths_id_gen", sequenceName = "learning_paths_seq", allocationSize = 50)
     private Long pathId;
     
     @Column(nullable = false)
@@ -0,0 +1,35 @@
+package com.sih.userservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A path completion whose reward has not been applied yet. Written in the same transaction as the
+ * progress update and deleted by the reward workers once the points are credited.
+ */
+@Entity
+@Table(name = "reward_outbox")
+@Data
+public class RewardOutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reward_outbox_id_gen")
+    @SequenceGenerator(name = "reward_outbox_id_gen", sequenceName = "reward_outbox_seq", allocationSize = 50)
+    private Long eventId;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Long pathId;
+    
+    @Column(nullable = false)
+    private Integer points;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 public class UserAchievements {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_achievements_id_gen")
+    @SequenceGenerator(name = "user_achievements_id_gen", sequenceName = "user_achievements_seq", allocationSize = 50)
     private Long achievementId;
     
     @OneToOne(fetch = FetchType.LAZY)
@@ -35,6 +36,15 @@ public class UserAchievements {
     @Column(nullable = false)
     private String lastActiveDate;
     
+    // Denormalized path counters for the stats endpoint; null until first reconciled for this user
+    private Integer totalPaths;
+    
+    private Integer completedPaths;
+    
+    // Bumped by every write to pointsEarned or level; orders the leaderboard's score events
+    @Column(nullable = false)
+    private Long scoreVersion = 0L;
+    
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
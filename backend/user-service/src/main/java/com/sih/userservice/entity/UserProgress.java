@@ -2,6 +2,7 @@ package com.sih.userservice.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,7 +19,8 @@ public class UserProgress {
     }
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_progress_id_gen")
+    @SequenceGenerator(name = "user_progress_id_gen", sequenceName = "user_progress_seq", allocationSize = 50)
     private Long progressId;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,6 +41,11 @@ public class UserProgress {
     @Column(nullable = false)
     private Status status = Status.NOT_STARTED;
     
+    // Set the first time the path completes so the completion reward is granted only once
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private Boolean completionRewarded = false;
+    
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
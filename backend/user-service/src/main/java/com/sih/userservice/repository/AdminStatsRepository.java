@@ -0,0 +1,58 @@
+package com.sih.userservice.repository;
+
+import com.sih.userservice.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The admin dashboard aggregates computed from the base tables, for reconciling the in-memory rollups.
+ * Each query is a full scan; run them in one repeatable-read transaction for a consistent picture.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AdminStatsRepository {
+
+    public record Totals(Map<User.Role, Long> usersByRole,
+                         long pendingApprovals,
+                         Map<Long, Long> completionsByPath,
+                         long progressRows,
+                         double progressPercentageSum,
+                         long certificatesIssued) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Totals computeTotals() {
+        Map<User.Role, Long> usersByRole = new EnumMap<>(User.Role.class);
+        long[] pending = new long[1];
+        jdbcTemplate.query("SELECT role, enabled, count(*) FROM users GROUP BY role, enabled", rs -> {
+            if (rs.getString(1) != null) {
+                usersByRole.merge(User.Role.valueOf(rs.getString(1)), rs.getLong(3), Long::sum);
+            }
+            if (!rs.getBoolean(2)) {
+                pending[0] += rs.getLong(3);
+            }
+        });
+
+        Map<Long, Long> completionsByPath = new HashMap<>();
+        long[] progressRows = new long[1];
+        double[] percentageSum = new double[1];
+        jdbcTemplate.query("SELECT path_id, count(*) FILTER (WHERE status = 'COMPLETED'), count(*), " +
+                "coalesce(sum(progress_percentage), 0) FROM user_progress GROUP BY path_id", rs -> {
+            if (rs.getLong(2) > 0) {
+                completionsByPath.put(rs.getLong(1), rs.getLong(2));
+            }
+            progressRows[0] += rs.getLong(3);
+            percentageSum[0] += rs.getDouble(4);
+        });
+
+        long certificates = jdbcTemplate.queryForObject(
+                "SELECT coalesce(sum(certificates_earned), 0) FROM user_achievements", Long.class);
+        return new Totals(usersByRole, pending[0], completionsByPath, progressRows[0], percentageSum[0], certificates);
+    }
+}
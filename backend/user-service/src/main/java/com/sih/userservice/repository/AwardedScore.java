@@ -0,0 +1,10 @@
+package com.sih.userservice.repository;
+
+public interface AwardedScore {
+    Integer getPointsEarned();
+    Integer getCertificatesEarned();
+    Integer getLevel();
+    Integer getStreak();
+    Integer getCompletedPaths();
+    Long getScoreVersion();
+}
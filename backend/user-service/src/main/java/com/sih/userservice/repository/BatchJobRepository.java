@@ -0,0 +1,81 @@
+package com.sih.userservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs and chunk checkpoints of the chunked batch jobs (V4 migration).
+ */
+@Repository
+@RequiredArgsConstructor
+public class BatchJobRepository {
+
+    // Keys in (afterKey, lastKey]
+    public record Chunk(long afterKey, long lastKey, int plannedRows) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // False when the run already exists, planned by an earlier attempt or another instance
+    public boolean createRun(String jobName, LocalDate runDate) {
+        return jdbcTemplate.update("INSERT INTO batch_job_run (job_name, run_date, started_at) VALUES (?, ?, now()) " +
+                "ON CONFLICT (job_name, run_date) DO NOTHING", jobName, runDate) == 1;
+    }
+
+    public void insertChunks(String jobName, LocalDate runDate, List<Chunk> chunks) {
+        jdbcTemplate.batchUpdate("INSERT INTO batch_job_chunk (job_name, run_date, after_key, last_key, planned_rows) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                chunks.stream().map(c -> new Object[]{jobName, runDate, c.afterKey(), c.lastKey(), c.plannedRows()}).toList());
+    }
+
+    public boolean isFinished(String jobName, LocalDate runDate) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM batch_job_run " +
+                "WHERE job_name = ? AND run_date = ? AND finished_at IS NOT NULL)", Boolean.class, jobName, runDate));
+    }
+
+    // Runs older than a finished one are superseded by it and never resumed
+    public Optional<LocalDate> findLatestUnfinishedRun(String jobName) {
+        return jdbcTemplate.query("SELECT r.run_date FROM batch_job_run r WHERE r.job_name = ? AND r.finished_at IS NULL " +
+                        "AND NOT EXISTS (SELECT 1 FROM batch_job_run f WHERE f.job_name = r.job_name " +
+                        "AND f.run_date > r.run_date AND f.finished_at IS NOT NULL) " +
+                        "ORDER BY r.run_date DESC LIMIT 1", (rs, rowNum) -> rs.getObject(1, LocalDate.class), jobName)
+                .stream().findFirst();
+    }
+
+    /**
+     * Locks the next pending chunk until the caller's transaction ends; chunks locked by other workers or
+     * instances are skipped. Must run in a transaction.
+     */
+    public Optional<Chunk> claimChunk(String jobName, LocalDate runDate) {
+        return jdbcTemplate.query("SELECT after_key, last_key, planned_rows FROM batch_job_chunk " +
+                        "WHERE job_name = ? AND run_date = ? AND completed_at IS NULL " +
+                        "ORDER BY after_key LIMIT 1 FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> new Chunk(rs.getLong(1), rs.getLong(2), rs.getInt(3)), jobName, runDate)
+                .stream().findFirst();
+    }
+
+    public void completeChunk(String jobName, LocalDate runDate, long afterKey, int rowsUpdated) {
+        jdbcTemplate.update("UPDATE batch_job_chunk SET completed_at = now(), rows_updated = ? " +
+                "WHERE job_name = ? AND run_date = ? AND after_key = ?", rowsUpdated, jobName, runDate, afterKey);
+    }
+
+    public int countPendingChunks(String jobName, LocalDate runDate) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM batch_job_chunk " +
+                "WHERE job_name = ? AND run_date = ? AND completed_at IS NULL", Integer.class, jobName, runDate);
+    }
+
+    public void finishRun(String jobName, LocalDate runDate) {
+        jdbcTemplate.update("UPDATE batch_job_run SET finished_at = now() WHERE job_name = ? AND run_date = ? " +
+                "AND finished_at IS NULL", jobName, runDate);
+    }
+
+    // Chunks go with their run
+    public int deleteRunsBefore(String jobName, LocalDate cutoff) {
+        return jdbcTemplate.update("DELETE FROM batch_job_run WHERE job_name = ? AND run_date < ?", jobName, cutoff);
+    }
+}
@@ -0,0 +1,11 @@
+package com.sih.userservice.repository;
+
+import java.time.LocalDateTime;
+
+public interface ClaimedReward {
+    Long getEventId();
+    Long getUserId();
+    Long getPathId();
+    Integer getPoints();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,12 @@
+package com.sih.userservice.repository;
+
+import com.sih.userservice.entity.User;
+
+public interface LeaderboardRow {
+    Long getUserId();
+    String getUsername();
+    User.Role getRole();
+    Integer getPointsEarned();
+    Integer getLevel();
+    Long getScoreVersion();
+}
@@ -0,0 +1,5 @@
+package com.sih.userservice.repository;
+
+public interface MaintainedAchievements extends AwardedScore {
+    Long getUserId();
+}
@@ -0,0 +1,25 @@
+package com.sih.userservice.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row returned by the atomic lesson increment: the progress after the update plus what it was before, and the
+ * user's achievements when the update moved their completed-path counter or streak.
+ */
+public interface ProgressUpdateResult {
+    Long getProgressId();
+    Integer getLessonsCompleted();
+    Double getProgressPercentage();
+    String getStatus();
+    LocalDateTime getUpdatedAt();
+    String getPreviousStatus();
+    Double getPreviousProgressPercentage();
+    // True only for the single update that first completes the path
+    Boolean getCompletionRewardDue();
+    // The achievements row after the update; null when the update did not change it
+    Integer getPointsEarned();
+    Integer getCertificatesEarned();
+    Integer getLevel();
+    Integer getStreak();
+    Integer getCompletedPaths();
+}
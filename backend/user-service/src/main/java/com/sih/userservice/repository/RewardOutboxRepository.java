@@ -0,0 +1,39 @@
+package com.sih.userservice.repository;
+
+import com.sih.userservice.entity.RewardOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RewardOutboxRepository extends JpaRepository<RewardOutboxEvent, Long> {
+    
+    // Removes and returns the oldest pending events; SKIP LOCKED lets several workers (and instances) drain in parallel
+    @Query(value = "DELETE FROM reward_outbox WHERE event_id IN (" +
+            "SELECT event_id FROM reward_outbox ORDER BY event_id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING event_id AS \"eventId\", user_id AS \"userId\", path_id AS \"pathId\", points AS \"points\", created_at AS \"createdAt\"",
+            nativeQuery = true)
+    List<ClaimedReward> claimBatch(@Param("limit") int limit);
+    
+    // Keeps a claimed reward that could not be applied; runs in the claiming transaction, after claimBatch deleted it
+    @Modifying
+    @Query(value = "INSERT INTO reward_dead_letter (event_id, user_id, path_id, points, created_at, reason, dead_lettered_at) " +
+            "VALUES (:eventId, :userId, :pathId, :points, :createdAt, :reason, now())", nativeQuery = true)
+    int deadLetter(@Param("eventId") Long eventId,
+                   @Param("userId") Long userId,
+                   @Param("pathId") Long pathId,
+                   @Param("points") int points,
+                   @Param("createdAt") LocalDateTime createdAt,
+                   @Param("reason") String reason);
+    
+    @Query(value = "SELECT count(*) FROM reward_dead_letter", nativeQuery = true)
+    long countDeadLettered();
+    
+    @Query("SELECT MIN(e.createdAt) FROM RewardOutboxEvent e")
+    LocalDateTime findOldestPendingCreatedAt();
+}
@@ -1,11 +1,21 @@
 package com.sih.userservice.repository;
 
+import com.sih.userservice.dto.ProgressStatsResponse;
 import com.sih.userservice.entity.User;
 import com.sih.userservice.entity.UserAchievements;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserAchievementsRepository extends JpaRepository<UserAchievements, Long> {
@@ -13,4 +23,83 @@ public interface UserAchievementsRepository extends JpaRepository<UserAchievemen
     Optional<UserAchievements> findByUser(User user);
     
     Optional<UserAchievements> findByUser_Id(Long userId);
+    
+    @Query("SELECT new com.sih.userservice.dto.ProgressStatsResponse(" +
+            "COUNT(up), COUNT(up) FILTER (WHERE up.status = com.sih.userservice.entity.UserProgress.Status.COMPLETED), " +
+            "ua.certificatesEarned, ua.pointsEarned, ua.level, ua.streak) " +
+            "FROM UserAchievements ua LEFT JOIN UserProgress up ON up.user.id = ua.user.id " +
+            "WHERE ua.user.id = :userId " +
+            "GROUP BY ua.achievementId, ua.certificatesEarned, ua.pointsEarned, ua.level, ua.streak")
+    Optional<ProgressStatsResponse> aggregateProgressStats(@Param("userId") Long userId);
+    
+    @Query("SELECT new com.sih.userservice.dto.ProgressStatsResponse(" +
+            "ua.totalPaths, ua.completedPaths, ua.certificatesEarned, ua.pointsEarned, ua.level, ua.streak) " +
+            "FROM UserAchievements ua WHERE ua.user.id = :userId AND ua.totalPaths IS NOT NULL")
+    Optional<ProgressStatsResponse> findProgressStatsFromCounters(@Param("userId") Long userId);
+    
+    // Recomputes the denormalized path counters from user_progress for the given users
+    @Modifying
+    @Query(value = "UPDATE user_achievements ua SET " +
+            "total_paths = (SELECT COUNT(*) FROM user_progress up WHERE up.user_id = ua.user_id), " +
+            "completed_paths = (SELECT COUNT(*) FROM user_progress up WHERE up.user_id = ua.user_id AND up.status = 'COMPLETED') " +
+            "WHERE ua.user_id IN (:userIds)", nativeQuery = true)
+    int reconcilePathCounters(@Param("userIds") Collection<Long> userIds);
+    
+    // Applies one or more path completion rewards as one additive statement: points, certificates and level.
+    // The completed-path counter and the streak are not touched here; they move with the progress row in
+    // UserProgressRepository.incrementLessons.
+    @Query(value = "UPDATE user_achievements SET " +
+            "points_earned = points_earned + :points, " +
+            "certificates_earned = certificates_earned + :completions, " +
+            "level = (points_earned + :points) / 300 + 1, " +
+            "score_version = score_version + 1, " +
+            "last_updated = now() " +
+            "WHERE user_id = :userId RETURNING points_earned AS \"pointsEarned\", certificates_earned AS \"certificatesEarned\", " +
+            "level AS \"level\", streak AS \"streak\", completed_paths AS \"completedPaths\", score_version AS \"scoreVersion\"", nativeQuery = true)
+    Optional<AwardedScore> awardCompletion(@Param("userId") Long userId,
+                                           @Param("points") int points,
+                                           @Param("completions") int completions);
+    
+    // Seeds the starting achievements row for every user that does not have one yet and returns those users' ids
+    @Query(value = "INSERT INTO user_achievements (user_id, points_earned, certificates_earned, level, streak, last_active_date, created_at, last_updated) " +
+            "SELECT u.id, :points, :certificates, :level, :streak, :lastActiveDate, now(), now() " +
+            "FROM users u WHERE u.id IN (:userIds) " +
+            "ON CONFLICT (user_id) DO NOTHING RETURNING user_id", nativeQuery = true)
+    List<Long> insertMissingAchievements(@Param("userIds") Collection<Long> userIds,
+                                         @Param("points") Integer points,
+                                         @Param("certificates") Integer certificates,
+                                         @Param("level") Integer level,
+                                         @Param("streak") Integer streak,
+                                         @Param("lastActiveDate") String lastActiveDate);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.id AS userId, u.username AS username, u.role AS role, ua.pointsEarned AS pointsEarned, ua.level AS level, " +
+            "ua.scoreVersion AS scoreVersion " +
+            "FROM UserAchievements ua JOIN ua.user u")
+    Stream<LeaderboardRow> streamLeaderboardRows();
+    
+    @Query("SELECT u.id AS userId, u.username AS username, u.role AS role, ua.pointsEarned AS pointsEarned, ua.level AS level, " +
+            "ua.scoreVersion AS scoreVersion " +
+            "FROM UserAchievements ua JOIN ua.user u WHERE u.id IN :userIds")
+    List<LeaderboardRow> findLeaderboardRows(@Param("userIds") Collection<Long> userIds);
+    
+    // Every chunkSize-th key in order: the upper bounds of keyset chunks of chunkSize rows
+    @Query(value = "SELECT achievement_id FROM (SELECT achievement_id, row_number() OVER (ORDER BY achievement_id) AS rn " +
+            "FROM user_achievements) keys WHERE rn % :chunkSize = 0 ORDER BY achievement_id", nativeQuery = true)
+    List<Long> findChunkUpperBounds(@Param("chunkSize") int chunkSize);
+    
+    // Nightly maintenance of the keys in (afterKey, lastKey]: streaks without progress since before the cutoff end,
+    // levels follow points. Only rows that change are written; they are returned for the leaderboard and progress streams.
+    @Query(value = "UPDATE user_achievements SET " +
+            "streak = CASE WHEN last_active_date < :cutoff THEN 0 ELSE streak END, " +
+            "level = points_earned / 300 + 1, " +
+            "score_version = score_version + 1, " +
+            "last_updated = now() " +
+            "WHERE achievement_id > :afterKey AND achievement_id <= :lastKey " +
+            "AND ((streak <> 0 AND last_active_date < :cutoff) OR level <> points_earned / 300 + 1) " +
+            "RETURNING user_id AS \"userId\", points_earned AS \"pointsEarned\", certificates_earned AS \"certificatesEarned\", " +
+            "level AS \"level\", streak AS \"streak\", completed_paths AS \"completedPaths\", score_version AS \"scoreVersion\"", nativeQuery = true)
+    List<MaintainedAchievements> normalizeRange(@Param("afterKey") long afterKey,
+                                                @Param("lastKey") long lastKey,
+                                                @Param("cutoff") String cutoff);
 }
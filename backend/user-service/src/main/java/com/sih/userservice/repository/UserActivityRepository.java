@@ -0,0 +1,78 @@
+package com.sih.userservice.repository;
+
+import com.sih.userservice.entity.ActivityYear;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * user_activity rows (V3 migration): one day bitmap and one points series per user and year.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserActivityRepository {
+
+    public record UserYear(Long userId, int year) {
+    }
+
+    private static final byte[] EMPTY_DAYS = new byte[ActivityYear.DAYS_BYTES];
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // One statement whatever the history: sets the day's bit, creating the year's row on its first active day
+    public void markActive(Long userId, int year, int dayIndex) {
+        jdbcTemplate.update("INSERT INTO user_activity (user_id, year, days) VALUES (?, ?, set_bit(?, ?, 1)) " +
+                "ON CONFLICT (user_id, year) DO UPDATE SET days = set_bit(user_activity.days, ?, 1)",
+                userId, year, EMPTY_DAYS, dayIndex, dayIndex);
+    }
+
+    public List<ActivityYear> findByUserId(Long userId) {
+        return jdbcTemplate.query("SELECT year, days, points FROM user_activity WHERE user_id = ? ORDER BY year",
+                (rs, rowNum) -> new ActivityYear(rs.getInt(1), rs.getBytes(2), rs.getBytes(3)), userId);
+    }
+
+    /**
+     * Creates the missing rows and locks all of them, in key order so concurrent batches cannot deadlock,
+     * for a read-modify-write of the points series. Must run in a transaction.
+     */
+    public Map<UserYear, ActivityYear> lockYears(Collection<UserYear> keys) {
+        Map<UserYear, ActivityYear> locked = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return locked;
+        }
+        Long[] userIds = keys.stream().map(UserYear::userId).toArray(Long[]::new);
+        Integer[] years = keys.stream().map(UserYear::year).toArray(Integer[]::new);
+        jdbcTemplate.update(con -> {
+            var statement = con.prepareStatement("INSERT INTO user_activity (user_id, year, days) " +
+                    "SELECT k.user_id, k.year, ? FROM unnest(?::bigint[], ?::int[]) AS k(user_id, year) " +
+                    "ON CONFLICT (user_id, year) DO NOTHING");
+            statement.setBytes(1, EMPTY_DAYS);
+            statement.setArray(2, con.createArrayOf("bigint", userIds));
+            statement.setArray(3, con.createArrayOf("integer", years));
+            return statement;
+        });
+        jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement("SELECT a.user_id, a.year, a.days, a.points FROM user_activity a " +
+                    "JOIN unnest(?::bigint[], ?::int[]) AS k(user_id, year) ON a.user_id = k.user_id AND a.year = k.year " +
+                    "ORDER BY a.user_id, a.year FOR UPDATE OF a");
+            statement.setArray(1, con.createArrayOf("bigint", userIds));
+            statement.setArray(2, con.createArrayOf("integer", years));
+            return statement;
+        }, rs -> {
+            locked.put(new UserYear(rs.getLong(1), rs.getInt(2)), new ActivityYear(rs.getInt(2), rs.getBytes(3), rs.getBytes(4)));
+        });
+        return locked;
+    }
+
+    public void updateYears(Map<UserYear, ActivityYear> years) {
+        List<Object[]> rows = new ArrayList<>(years.size());
+        years.forEach((key, year) -> rows.add(new Object[]{year.daysBytes(), year.pointsBytes(), key.userId(), key.year()}));
+        jdbcTemplate.batchUpdate("UPDATE user_activity SET days = ?, points = ? WHERE user_id = ? AND year = ?", rows);
+    }
+}
@@ -0,0 +1,74 @@
+package com.sih.userservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based writes for bulk student import: one statement per chunk, with the rows passed as arrays.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserImportRepository {
+
+    public record NewStudent(String email, String passwordHash, String username, String firstName, String lastName) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        if (emails.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement("SELECT email FROM users WHERE email = ANY(?)");
+            statement.setArray(1, con.createArrayOf("text", emails.toArray()));
+            return statement;
+        }, rs -> {
+            existing.add(rs.getString(1));
+        });
+        return existing;
+    }
+
+    /**
+     * Inserts enabled students and returns the new ids by email. Emails taken in the meantime (a concurrent signup
+     * or import) are skipped by the unique constraint and are simply missing from the result.
+     */
+    public Map<String, Long> insertStudents(List<NewStudent> students) {
+        Map<String, Long> ids = new HashMap<>();
+        if (students.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement(
+                    "INSERT INTO users (email, password, username, first_name, last_name, role, enabled) "
+                            + "SELECT email, password, username, first_name, last_name, 'STUDENT', true "
+                            + "FROM unnest(?, ?, ?, ?, ?) AS s(email, password, username, first_name, last_name) "
+                            + "ON CONFLICT (email) DO NOTHING RETURNING id, email");
+            statement.setArray(1, textArray(con, students.stream().map(NewStudent::email).toArray()));
+            statement.setArray(2, textArray(con, students.stream().map(NewStudent::passwordHash).toArray()));
+            statement.setArray(3, textArray(con, students.stream().map(NewStudent::username).toArray()));
+            statement.setArray(4, textArray(con, students.stream().map(NewStudent::firstName).toArray()));
+            statement.setArray(5, textArray(con, students.stream().map(NewStudent::lastName).toArray()));
+            return statement;
+        }, rs -> {
+            ids.put(rs.getString("email"), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    private static Array textArray(Connection con, Object[] values) throws SQLException {
+        return con.createArrayOf("text", values);
+    }
+}
@@ -1,12 +1,16 @@
 package com.sih.userservice.repository;
 
+import com.sih.userservice.dto.UserProgressResponse;
+import com.sih.userservice.entity.ActivityYear;
 import com.sih.userservice.entity.User;
 import com.sih.userservice.entity.UserProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,12 +24,87 @@ public interface UserProgressRepository extends JpaRepository<UserProgress, Long
     @Query("SELECT up FROM UserProgress up WHERE up.user.id = :userId")
     List<UserProgress> findByUserId(@Param("userId") Long userId);
     
+    @Query("SELECT new com.sih.userservice.dto.UserProgressResponse(" +
+            "up.progressId, lp.pathId, lp.title, up.lessonsCompleted, up.progressPercentage, up.status, up.updatedAt) " +
+            "FROM UserProgress up JOIN up.learningPath lp WHERE up.user.id = :userId ORDER BY lp.sortOrder")
+    List<UserProgressResponse> findProgressResponsesByUserId(@Param("userId") Long userId);
+    
     @Query("SELECT up FROM UserProgress up WHERE up.user.id = :userId AND up.learningPath.pathId = :pathId")
     Optional<UserProgress> findByUserIdAndPathId(@Param("userId") Long userId, @Param("pathId") Long pathId);
     
+    /*
+     * Increments lessons, recomputes percentage/status and flags the first completion in one statement.
+     * The CTE locks the row first, so concurrent increments on the same (user, path) serialize instead of
+     * overwriting each other, and exactly one of them observes the transition into COMPLETED. A transition
+     * into or out of COMPLETED moves the user's completed-path counter in the same statement, so the counter
+     * never waits on the reward worker; the user's first update of the day also extends or restarts the streak
+     * (dates are ISO strings, so they compare as text). The achievements columns of the result are null when
+     * that row was left alone. The same statement sets the day's bit in the user's activity bitmap, so the
+     * stored streak and the bitmap record the same days; it reads the achievements CTE so that row is locked
+     * before the activity row, the order the reward worker takes them in, and it leaves the activity row alone
+     * when the bit is already set.
+     */
+    @Query(value = "WITH prev AS (" +
+            "SELECT progress_id, status, progress_percentage, completion_rewarded FROM user_progress " +
+            "WHERE user_id = :userId AND path_id = :pathId FOR UPDATE), " +
+            "upd AS (UPDATE user_progress up SET " +
+            "lessons_completed = LEAST(:totalLessons, up.lessons_completed + :increment), " +
+            "progress_percentage = CASE WHEN :totalLessons > 0 " +
+            "THEN CAST(LEAST(:totalLessons, up.lessons_completed + :increment) AS double precision) / :totalLessons * 100.0 " +
+            "ELSE 0.0 END, " +
+            "status = CASE WHEN :totalLessons > 0 AND LEAST(:totalLessons, up.lessons_completed + :increment) >= :totalLessons THEN 'COMPLETED' " +
+            "WHEN LEAST(:totalLessons, up.lessons_completed + :increment) > 0 THEN 'IN_PROGRESS' " +
+            "ELSE 'NOT_STARTED' END, " +
+            "completion_rewarded = up.completion_rewarded OR (:totalLessons > 0 AND LEAST(:totalLessons, up.lessons_completed + :increment) >= :totalLessons), " +
+            "updated_at = now() " +
+            "FROM prev WHERE up.progress_id = prev.progress_id " +
+            "RETURNING up.progress_id, up.lessons_completed, up.progress_percentage, up.status, up.updated_at, " +
+            "prev.status AS previous_status, prev.progress_percentage AS previous_progress_percentage, " +
+            "prev.completion_rewarded AS previously_rewarded), " +
+            "achievements AS (UPDATE user_achievements ua SET " +
+            "completed_paths = ua.completed_paths + CASE WHEN (upd.status = 'COMPLETED') = (upd.previous_status = 'COMPLETED') THEN 0 " +
+            "WHEN upd.status = 'COMPLETED' THEN 1 ELSE -1 END, " +
+            "streak = CASE WHEN ua.last_active_date >= :today THEN ua.streak " +
+            "WHEN ua.last_active_date = :yesterday THEN ua.streak + 1 ELSE 1 END, " +
+            "last_active_date = GREATEST(ua.last_active_date, :today), " +
+            "last_updated = now() " +
+            "FROM upd WHERE ua.user_id = :userId AND (ua.last_active_date < :today " +
+            "OR (ua.completed_paths IS NOT NULL AND (upd.status = 'COMPLETED') <> (upd.previous_status = 'COMPLETED'))) " +
+            "RETURNING ua.points_earned, ua.certificates_earned, ua.level, ua.streak, ua.completed_paths), " +
+            "activity AS (INSERT INTO user_activity (user_id, year, days) " +
+            "SELECT :userId, :year, set_bit(decode(repeat('00', " + ActivityYear.DAYS_BYTES + "), 'hex'), :dayIndex, 1) " +
+            "FROM upd LEFT JOIN achievements ON true " +
+            "ON CONFLICT (user_id, year) DO UPDATE SET days = set_bit(user_activity.days, :dayIndex, 1) " +
+            "WHERE get_bit(user_activity.days, :dayIndex) = 0) " +
+            "SELECT progress_id AS \"progressId\", lessons_completed AS \"lessonsCompleted\", " +
+            "progress_percentage AS \"progressPercentage\", status AS \"status\", updated_at AS \"updatedAt\", " +
+            "previous_status AS \"previousStatus\", previous_progress_percentage AS \"previousProgressPercentage\", " +
+            "(status = 'COMPLETED' AND previous_status <> 'COMPLETED' AND NOT previously_rewarded) AS \"completionRewardDue\", " +
+            "points_earned AS \"pointsEarned\", certificates_earned AS \"certificatesEarned\", level AS \"level\", " +
+            "streak AS \"streak\", completed_paths AS \"completedPaths\" " +
+            "FROM upd LEFT JOIN achievements ON true",
+            nativeQuery = true)
+    Optional<ProgressUpdateResult> incrementLessons(@Param("userId") Long userId,
+                                                    @Param("pathId") Long pathId,
+                                                    @Param("increment") int increment,
+                                                    @Param("totalLessons") int totalLessons,
+                                                    @Param("today") String today,
+                                                    @Param("yesterday") String yesterday,
+                                                    @Param("year") int year,
+                                                    @Param("dayIndex") int dayIndex);
+    
     @Query("SELECT COUNT(up) FROM UserProgress up WHERE up.user.id = :userId AND up.status = 'COMPLETED'")
     Long countCompletedPathsByUserId(@Param("userId") Long userId);
     
     @Query("SELECT COUNT(up) FROM UserProgress up WHERE up.user.id = :userId")
     Long countTotalPathsByUserId(@Param("userId") Long userId);
+    
+    // Seeds a NOT_STARTED row for every (user, active path) pair that is missing; existing rows are left untouched
+    @Modifying
+    @Query(value = "INSERT INTO user_progress (user_id, path_id, lessons_completed, progress_percentage, status, created_at, updated_at) " +
+            "SELECT u.id, lp.path_id, 0, 0.0, 'NOT_STARTED', now(), now() " +
+            "FROM users u CROSS JOIN learning_paths lp " +
+            "WHERE u.id IN (:userIds) AND lp.is_active = true " +
+            "ON CONFLICT (user_id, path_id) DO NOTHING", nativeQuery = true)
+    int insertMissingProgress(@Param("userIds") Collection<Long> userIds);
 }
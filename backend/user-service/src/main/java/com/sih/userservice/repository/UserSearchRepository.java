@@ -0,0 +1,78 @@
+package com.sih.userservice.repository;
+
+import com.sih.userservice.dto.UserResponse;
+import com.sih.userservice.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Keyset-paged user listing for the admin screens. The SQL is assembled per filter combination rather than
+ * using "(:x IS NULL OR ...)" predicates, so every variant gets a plan on one of the indexes from the
+ * db/migration scripts and the cost of a page does not grow with the table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserSearchRepository {
+
+    // Must match the expression of idx_users_search_trgm
+    static final String SEARCH_TEXT =
+            "lower(email || ' ' || username || ' ' || coalesce(first_name, '') || ' ' || coalesce(last_name, ''))";
+
+    // Below this length trigrams are useless; match prefixes of email/username instead
+    static final int MIN_TRIGRAM_QUERY = 3;
+
+    private static final RowMapper<UserResponse> ROW_MAPPER = (rs, rowNum) -> {
+        UserResponse user = new UserResponse();
+        user.setId(rs.getLong("id"));
+        user.setEmail(rs.getString("email"));
+        user.setUsername(rs.getString("username"));
+        user.setFirstName(rs.getString("first_name"));
+        user.setLastName(rs.getString("last_name"));
+        String role = rs.getString("role");
+        user.setRole(role == null ? null : User.Role.valueOf(role));
+        user.setEnabled(rs.getBoolean("enabled"));
+        return user;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns up to {@code limit} users with id greater than {@code afterId}, in id order.
+     * Null filters are not applied.
+     */
+    public List<UserResponse> search(String query, User.Role role, Boolean enabled, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, email, username, first_name, last_name, role, enabled FROM users WHERE id > :afterId");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", afterId == null ? 0L : afterId)
+                .addValue("limit", limit);
+        if (enabled != null) {
+            // Literal, not a parameter, so the planner can match the partial index on pending users
+            sql.append(enabled ? " AND enabled = true" : " AND enabled = false");
+        }
+        if (role != null) {
+            sql.append(" AND role = :role");
+            params.addValue("role", role.name());
+        }
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.length() >= MIN_TRIGRAM_QUERY) {
+            sql.append(" AND ").append(SEARCH_TEXT).append(" LIKE :contains");
+            params.addValue("contains", "%" + escapeLike(normalized) + "%");
+        } else if (!normalized.isEmpty()) {
+            sql.append(" AND (lower(email) LIKE :prefix OR lower(username) LIKE :prefix)");
+            params.addValue("prefix", escapeLike(normalized) + "%");
+        }
+        sql.append(" ORDER BY id LIMIT :limit");
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,197 @@
+package com.sih.userservice.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs bcrypt on a fixed pool sized to the CPU count with a bounded queue. Callers still wait for the
+ * result, but at most threads + queue-capacity request threads can be parked here; anything beyond
+ * that is rejected immediately with {@link PasswordHashingRejectedException} so the remaining servlet
+ * threads stay free for cheap endpoints.
+ * <p>
+ * Bulk imports hash on a second pool of their own ({@link #encodeAll}), so an import can neither fill
+ * the interactive queue nor be shed by it. That pool gets a quarter of the CPUs by default, leaving the
+ * rest to logins and signups, and a bounded queue: importers that find it full wait for room instead
+ * of queueing without limit.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    // $2a$10$...: bcrypt version, then the two-digit cost
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final int bcryptStrength;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    // Free places in the bulk queue: taken before a task is submitted, given back when a worker starts it
+    private final Semaphore bulkSlots;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer bulkEncodeTimer;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${password.bcrypt.strength:10}") int bcryptStrength,
+                                   @Value("${password.hashing.threads:0}") int threads,
+                                   @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${password.hashing.timeout-ms:5000}") long timeoutMillis,
+                                   @Value("${password.hashing.retry-after-seconds:1}") long retryAfterSeconds,
+                                   @Value("${password.hashing.bulk-threads:0}") int bulkThreads,
+                                   @Value("${password.hashing.bulk-queue-capacity:1000}") int bulkQueueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.bcryptStrength = bcryptStrength;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                daemonThreads("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        int bulkPoolSize = bulkThreads > 0 ? bulkThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        this.bulkSlots = new Semaphore(bulkQueueCapacity);
+        this.bulkExecutor = new ThreadPoolExecutor(bulkPoolSize, bulkPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(bulkQueueCapacity), daemonThreads("password-hashing-bulk-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // executor.queued, executor.active, executor.queue.remaining, executor.completed, ...
+        new ExecutorServiceMetrics(executor, "password-hashing", List.of()).bindTo(meterRegistry);
+        new ExecutorServiceMetrics(bulkExecutor, "password-hashing-bulk", List.of()).bindTo(meterRegistry);
+        this.encodeTimer = hashingTimer(meterRegistry, "encode");
+        this.matchesTimer = hashingTimer(meterRegistry, "matches");
+        this.bulkEncodeTimer = hashingTimer(meterRegistry, "bulk-encode");
+        this.queueWait = Timer.builder("password.hashing.queue.wait")
+                .description("Time a hashing task spent queued before a worker picked it up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected").register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes every password on the bulk pool, in parallel across its threads. The result lists the hashes
+     * in input order; it completes exceptionally if any of them fails. Blocks the caller while the bulk
+     * queue is full, which is how concurrent imports are held back.
+     */
+    public CompletableFuture<List<String>> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(rawPasswords.size());
+        for (CharSequence raw : rawPasswords) {
+            try {
+                bulkSlots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return CompletableFuture.failedFuture(
+                        new PasswordHashingRejectedException("Interrupted while waiting for password hashing", retryAfterSeconds));
+            }
+            try {
+                hashes.add(CompletableFuture.supplyAsync(() -> {
+                    bulkSlots.release();
+                    return bulkEncodeTimer.record(() -> passwordEncoder.encode(raw));
+                }, bulkExecutor));
+            } catch (RejectedExecutionException e) {
+                bulkSlots.release();
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.allOf(hashes.toArray(CompletableFuture[]::new))
+                .thenApply(done -> hashes.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * True if the stored hash was produced with a different cost than the one configured now, so lowering
+     * the cost takes effect as well as raising it. Cheap: only inspects the hash prefix.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher cost = BCRYPT_COST.matcher(encodedPassword);
+        return cost.find() && Integer.parseInt(cost.group(1)) != bcryptStrength;
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Password hashing capacity exhausted", retryAfterSeconds);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Password hashing timed out", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingRejectedException("Interrupted while waiting for password hashing", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String namePrefix) {
+        AtomicInteger threadIds = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Timer hashingTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing")
+                .description("Time spent in bcrypt per operation")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
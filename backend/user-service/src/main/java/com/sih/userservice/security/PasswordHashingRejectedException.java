@@ -0,0 +1,19 @@
+package com.sih.userservice.security;
+
+/**
+ * Thrown when the password-hashing executor is saturated, so the caller can answer 503 instead of
+ * queueing behind other bcrypt work.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,5 +1,6 @@
 package com.sih.userservice.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -16,8 +17,9 @@ import java.util.List;
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password.bcrypt.strength:10}") int strength) {
+        // Hashes with a different cost, lower or higher, are rehashed on the next successful login (PasswordHashingExecutor.needsRehash)
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
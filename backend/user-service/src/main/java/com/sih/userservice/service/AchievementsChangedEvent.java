@@ -0,0 +1,14 @@
+package com.sih.userservice.service;
+
+import java.util.Map;
+
+/**
+ * New achievement counters for the given users, published after a progress update, a reward batch or a
+ * maintenance chunk changes them.
+ */
+public record AchievementsChangedEvent(Map<Long, Achievements> achievementsByUserId) {
+
+    // completedPaths is null for rows whose path counters were never reconciled
+    public record Achievements(int pointsEarned, int certificatesEarned, int level, int streak, Integer completedPaths) {
+    }
+}
@@ -0,0 +1,319 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.config.ConnectionLimitingDataSource;
+import com.sih.userservice.repository.BatchJobRepository;
+import com.sih.userservice.repository.MaintainedAchievements;
+import com.sih.userservice.repository.UserAchievementsRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nightly pass over user_achievements: streaks without progress yesterday or today drop to 0 and levels
+ * are recomputed from points. A run is planned as keyset chunks of chunk-size rows; worker threads claim
+ * chunks with SKIP LOCKED and update each one in a single statement, marking it completed in the same
+ * transaction, so a restart (or a second instance) continues with the chunks still pending. After every
+ * chunk a worker pauses to keep to the duty cycle, and longer while requests are waiting for connections.
+ */
+@Slf4j
+@Component
+public class AchievementsMaintenanceJob {
+
+    static final String JOB_NAME = "achievements-maintenance";
+    private static final int RETAINED_RUN_DAYS = 30;
+    // Below every achievement_id
+    private static final long FIRST_KEY = 0;
+
+    private final BatchJobRepository batchJobRepository;
+    private final UserAchievementsRepository userAchievementsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final HikariDataSource pool;
+    private final ConnectionLimitingDataSource admission;
+    private final boolean enabled;
+    private final CronExpression cron;
+    private final int chunkSize;
+    private final int threads;
+    private final double dutyCycle;
+    private final long backoffMillis;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastThroughput = new AtomicLong();
+    private final Timer duration;
+    private final Counter scannedRows;
+    private final Counter updatedRows;
+    private final Counter backoffs;
+
+    public AchievementsMaintenanceJob(BatchJobRepository batchJobRepository,
+                                      UserAchievementsRepository userAchievementsRepository,
+                                      ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager,
+                                      DataSource dataSource,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${jobs.achievements-maintenance.enabled:true}") boolean enabled,
+                                      @Value("${jobs.achievements-maintenance.cron:0 30 2 * * *}") String cron,
+                                      @Value("${jobs.achievements-maintenance.chunk-size:5000}") int chunkSize,
+                                      @Value("${jobs.achievements-maintenance.threads:0}") int threads,
+                                      @Value("${jobs.achievements-maintenance.duty-cycle:0.5}") double dutyCycle,
+                                      @Value("${jobs.achievements-maintenance.backoff-ms:200}") long backoffMillis) {
+        this.batchJobRepository = batchJobRepository;
+        this.userAchievementsRepository = userAchievementsRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = unwrap(dataSource, HikariDataSource.class);
+        this.admission = unwrap(dataSource, ConnectionLimitingDataSource.class);
+        this.enabled = enabled;
+        this.cron = CronExpression.parse(cron);
+        this.chunkSize = chunkSize;
+        // Half the pool at most, so online requests always keep connections of their own
+        int maxThreads = pool == null ? 1 : Math.max(1, pool.getMaximumPoolSize() / 2);
+        this.threads = threads > 0 ? threads : Math.min(Runtime.getRuntime().availableProcessors(), maxThreads);
+        if (dutyCycle <= 0 || dutyCycle > 1) {
+            throw new IllegalArgumentException("jobs.achievements-maintenance.duty-cycle must be in (0, 1]");
+        }
+        this.dutyCycle = dutyCycle;
+        this.backoffMillis = backoffMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("achievements-maintenance").daemon(true).factory());
+        this.duration = Timer.builder("jobs.achievements.maintenance.duration")
+            .description("Wall time of a maintenance run or resumed run")
+            .register(meterRegistry);
+        this.scannedRows = Counter.builder("jobs.achievements.maintenance.rows").tag("result", "scanned").register(meterRegistry);
+        this.updatedRows = Counter.builder("jobs.achievements.maintenance.rows").tag("result", "updated").register(meterRegistry);
+        this.backoffs = Counter.builder("jobs.achievements.maintenance.backoffs")
+            .description("Pauses because requests were waiting for a database connection")
+            .register(meterRegistry);
+        Gauge.builder("jobs.achievements.maintenance.throughput", lastThroughput, AtomicLong::get)
+            .description("Rows scanned per second by the last run")
+            .baseUnit("rows")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler.execute(() -> {
+            // A run cut short by a shutdown continues with its pending chunks
+            batchJobRepository.findLatestUnfinishedRun(JOB_NAME).ifPresent(this::runQuietly);
+            scheduleNext();
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Plans the run for the given day unless it exists already, then processes its pending chunks.
+     * Returns the number of rows changed by this call; 0 when a run is already in progress here.
+     */
+    public long run(LocalDate runDate) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Achievements maintenance already running; skipping run for {}", runDate);
+            return 0;
+        }
+        try {
+            if (batchJobRepository.isFinished(JOB_NAME, runDate)) {
+                return 0;
+            }
+            long start = System.nanoTime();
+            plan(runDate);
+            LongAdder scanned = new LongAdder();
+            LongAdder updated = new LongAdder();
+            // Streaks survive while the last progress update was yesterday or later, as in the activity bitmap's current streak
+            String cutoff = runDate.minusDays(1).toString();
+            ExecutorService workers = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("achievements-maintenance-worker-", 0).daemon(true).factory());
+            try {
+                List<Future<?>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    results.add(workers.submit(() -> {
+                        while (processNextChunk(runDate, cutoff, scanned, updated)) {
+                            throttle();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Achievements maintenance interrupted", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Achievements maintenance failed; pending chunks resume on the next start", e.getCause());
+            } finally {
+                workers.shutdownNow();
+            }
+
+            long elapsed = System.nanoTime() - start;
+            duration.record(elapsed, TimeUnit.NANOSECONDS);
+            lastThroughput.set(scanned.sum() * 1_000_000_000L / Math.max(1, elapsed));
+            // Chunks claimed by another instance may still be in flight; that instance finishes the run then
+            if (batchJobRepository.countPendingChunks(JOB_NAME, runDate) == 0) {
+                batchJobRepository.finishRun(JOB_NAME, runDate);
+                batchJobRepository.deleteRunsBefore(JOB_NAME, runDate.minusDays(RETAINED_RUN_DAYS));
+            }
+            log.info("Achievements maintenance for {}: {} rows scanned, {} updated in {} ms",
+                runDate, scanned.sum(), updated.sum(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            return updated.sum();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Splits the table into chunks of chunkSize keys once per run; a second planner finds the run and leaves it alone
+    void plan(LocalDate runDate) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!batchJobRepository.createRun(JOB_NAME, runDate)) {
+                return;
+            }
+            List<Long> upperBounds = userAchievementsRepository.findChunkUpperBounds(chunkSize);
+            long rows = userAchievementsRepository.count();
+            List<BatchJobRepository.Chunk> chunks = new ArrayList<>(upperBounds.size() + 1);
+            long afterKey = FIRST_KEY;
+            for (Long upperBound : upperBounds) {
+                chunks.add(new BatchJobRepository.Chunk(afterKey, upperBound, chunkSize));
+                afterKey = upperBound;
+            }
+            // The open-ended tail also takes rows created after planning
+            chunks.add(new BatchJobRepository.Chunk(afterKey, Long.MAX_VALUE,
+                (int) Math.max(0, rows - (long) upperBounds.size() * chunkSize)));
+            batchJobRepository.insertChunks(JOB_NAME, runDate, chunks);
+            log.info("Planned achievements maintenance for {}: {} rows in {} chunks", runDate, rows, chunks.size());
+        });
+    }
+
+    private boolean processNextChunk(LocalDate runDate, String cutoff, LongAdder scanned, LongAdder updated) {
+        long start = System.nanoTime();
+        List<MaintainedAchievements> changed = new ArrayList<>();
+        Optional<BatchJobRepository.Chunk> processed = transactionTemplate.execute(status -> {
+            Optional<BatchJobRepository.Chunk> chunk = batchJobRepository.claimChunk(JOB_NAME, runDate);
+            chunk.ifPresent(c -> {
+                changed.addAll(userAchievementsRepository.normalizeRange(c.afterKey(), c.lastKey(), cutoff));
+                batchJobRepository.completeChunk(JOB_NAME, runDate, c.afterKey(), changed.size());
+            });
+            return chunk;
+        });
+        if (processed.isEmpty()) {
+            return false;
+        }
+        scanned.add(processed.get().plannedRows());
+        updated.add(changed.size());
+        scannedRows.increment(processed.get().plannedRows());
+        updatedRows.increment(changed.size());
+        if (!changed.isEmpty()) {
+            publishChanges(changed);
+        }
+        pauseForDutyCycle(System.nanoTime() - start);
+        return true;
+    }
+
+    private void publishChanges(List<MaintainedAchievements> changed) {
+        Map<Long, ScoresChangedEvent.Score> scores = new HashMap<>();
+        Map<Long, AchievementsChangedEvent.Achievements> achievements = new HashMap<>();
+        for (MaintainedAchievements row : changed) {
+            scores.put(row.getUserId(), new ScoresChangedEvent.Score(row.getPointsEarned(), row.getLevel(),
+                row.getScoreVersion()));
+            achievements.put(row.getUserId(), new AchievementsChangedEvent.Achievements(row.getPointsEarned(),
+                row.getCertificatesEarned(), row.getLevel(), row.getStreak(), row.getCompletedPaths()));
+        }
+        eventPublisher.publishEvent(new ScoresChangedEvent(scores));
+        eventPublisher.publishEvent(new AchievementsChangedEvent(achievements));
+    }
+
+    // Work for chunkNanos, then rest so the job holds its connections for at most duty-cycle of the time
+    private void pauseForDutyCycle(long chunkNanos) {
+        sleep(TimeUnit.NANOSECONDS.toMillis((long) (chunkNanos * (1 - dutyCycle) / dutyCycle)));
+    }
+
+    private void throttle() {
+        while (requestsWaitingForConnections()) {
+            backoffs.increment();
+            sleep(backoffMillis);
+        }
+    }
+
+    private boolean requestsWaitingForConnections() {
+        if (admission != null && admission.getWaitingCount() > 0) {
+            return true;
+        }
+        return pool != null && pool.getHikariPoolMXBean() != null && pool.getHikariPoolMXBean().getThreadsAwaitingConnection() > 0;
+    }
+
+    private void scheduleNext() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = cron.next(now);
+        if (next == null) {
+            return;
+        }
+        scheduler.schedule(() -> {
+            runQuietly(next.toLocalDate());
+            scheduleNext();
+        }, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void runQuietly(LocalDate runDate) {
+        try {
+            run(runDate);
+        } catch (Exception e) {
+            log.error("Achievements maintenance for {} failed", runDate, e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Achievements maintenance interrupted", e);
+        }
+    }
+
+    // The pool behind the routing and admission wrappers, when there is one
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
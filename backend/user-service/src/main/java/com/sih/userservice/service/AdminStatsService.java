@@ -0,0 +1,232 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.dto.AdminStatsResponse;
+import com.sih.userservice.dto.LearningPathResponse;
+import com.sih.userservice.dto.PathCompletionsResponse;
+import com.sih.userservice.entity.User;
+import com.sih.userservice.repository.AdminStatsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin dashboard aggregates kept in memory: users by role, pending approvals, completions per learning path,
+ * average progress and certificates issued. Writes publish {@link StatsDeltaEvent}s that are folded in after
+ * commit, so reads never touch the database. Every reconcile interval the aggregates are recomputed from the
+ * base tables, which also picks up writes made by other instances or outside the services.
+ *
+ * <p>The first reconciliation runs in the background once the application is ready, so a slow scan does not hold
+ * up startup; until it has finished the counts only hold the changes since startup and the stats say so.
+ */
+@Slf4j
+@Service
+public class AdminStatsService {
+
+    private final AdminStatsRepository adminStatsRepository;
+    private final LearningPathCatalog learningPathCatalog;
+    private final TransactionTemplate snapshotTransaction;
+    private final long reconcileIntervalMillis;
+    private final ScheduledExecutorService reconciler;
+    private final Timer reconcileDuration;
+    private final Counter corrections;
+    private final Rollups rollups = new Rollups();
+    private LocalDateTime reconciledAt;
+
+    public AdminStatsService(AdminStatsRepository adminStatsRepository,
+                             LearningPathCatalog learningPathCatalog,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${analytics.rollups.reconcile-interval-ms:300000}") long reconcileIntervalMillis) {
+        this.adminStatsRepository = adminStatsRepository;
+        this.learningPathCatalog = learningPathCatalog;
+        // On the primary, and one snapshot for all three scans
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("admin-stats-reconcile").daemon(true).factory());
+        this.reconcileDuration = Timer.builder("admin.stats.reconcile.duration").register(meterRegistry);
+        this.corrections = Counter.builder("admin.stats.reconcile.corrections")
+            .description("Reconciliations that found the rollups off from the base tables")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconciler.execute(this::reconcileQuietly);
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly, reconcileIntervalMillis, reconcileIntervalMillis,
+            TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        reconciler.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatsDelta(StatsDeltaEvent event) {
+        synchronized (rollups) {
+            rollups.apply(event);
+        }
+    }
+
+    public AdminStatsResponse getStats() {
+        AdminStatsResponse response = new AdminStatsResponse();
+        Map<Long, LearningPathResponse> paths = learningPathCatalog.snapshot().pathsById();
+        synchronized (rollups) {
+            Map<User.Role, Long> usersByRole = new EnumMap<>(User.Role.class);
+            for (User.Role role : User.Role.values()) {
+                usersByRole.put(role, rollups.usersByRole.getOrDefault(role, 0L));
+            }
+            response.setUsersByRole(usersByRole);
+            response.setTotalUsers(rollups.usersByRole.values().stream().mapToLong(Long::longValue).sum());
+            response.setPendingApprovals(rollups.pendingApprovals);
+            List<PathCompletionsResponse> completions = new ArrayList<>(rollups.completionsByPath.size());
+            rollups.completionsByPath.forEach((pathId, count) -> {
+                LearningPathResponse path = paths.get(pathId);
+                completions.add(new PathCompletionsResponse(pathId, path == null ? null : path.getTitle(), count));
+            });
+            completions.sort(Comparator.comparing(PathCompletionsResponse::getPathId));
+            response.setCompletionsByPath(completions);
+            response.setAverageProgressPercentage(rollups.progressRows == 0 ? 0.0
+                : rollups.progressPercentageSum / rollups.progressRows);
+            response.setCertificatesIssued(rollups.certificatesIssued);
+            response.setReconciledAt(reconciledAt == null ? null : reconciledAt.toString());
+            response.setWarmingUp(!rollups.reconciled);
+        }
+        return response;
+    }
+
+    /**
+     * Replaces the rollups with the base-table totals plus whatever was folded in while the scans ran.
+     * A write that commits just before the scan snapshot but is folded in after it counts twice until the
+     * next pass.
+     */
+    public synchronized void reconcile() {
+        long start = System.nanoTime();
+        Rollups before;
+        synchronized (rollups) {
+            before = rollups.copy();
+        }
+        AdminStatsRepository.Totals totals = snapshotTransaction.execute(status -> adminStatsRepository.computeTotals());
+        Rollups computed = Rollups.of(totals);
+        synchronized (rollups) {
+            boolean drifted = !computed.sameCounts(before);
+            computed.add(rollups, 1);
+            computed.add(before, -1);
+            rollups.replaceWith(computed);
+            reconciledAt = LocalDateTime.now();
+            if (drifted && before.reconciled) {
+                corrections.increment();
+                log.info("Admin stats rollups corrected from the base tables");
+            }
+        }
+        reconcileDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Admin stats reconciliation failed; serving the incremental rollups", e);
+        }
+    }
+
+    // Guarded by synchronizing on the instance held in the service
+    private static final class Rollups {
+        private final Map<User.Role, Long> usersByRole = new EnumMap<>(User.Role.class);
+        private long pendingApprovals;
+        private final Map<Long, Long> completionsByPath = new HashMap<>();
+        private long progressRows;
+        private double progressPercentageSum;
+        private long certificatesIssued;
+        // False until the first reconciliation, when the counters only hold deltas
+        private boolean reconciled;
+
+        static Rollups of(AdminStatsRepository.Totals totals) {
+            Rollups rollups = new Rollups();
+            rollups.usersByRole.putAll(totals.usersByRole());
+            rollups.pendingApprovals = totals.pendingApprovals();
+            rollups.completionsByPath.putAll(totals.completionsByPath());
+            rollups.progressRows = totals.progressRows();
+            rollups.progressPercentageSum = totals.progressPercentageSum();
+            rollups.certificatesIssued = totals.certificatesIssued();
+            rollups.reconciled = true;
+            return rollups;
+        }
+
+        void apply(StatsDeltaEvent delta) {
+            delta.usersByRole().forEach((role, count) -> merge(usersByRole, role, count));
+            pendingApprovals += delta.pendingApprovals();
+            delta.completionsByPath().forEach((pathId, count) -> merge(completionsByPath, pathId, count));
+            progressRows += delta.progressRows();
+            progressPercentageSum += delta.progressPercentageSum();
+            certificatesIssued += delta.certificatesIssued();
+        }
+
+        void add(Rollups other, int sign) {
+            other.usersByRole.forEach((role, count) -> merge(usersByRole, role, sign * count));
+            pendingApprovals += sign * other.pendingApprovals;
+            other.completionsByPath.forEach((pathId, count) -> merge(completionsByPath, pathId, sign * count));
+            progressRows += sign * other.progressRows;
+            progressPercentageSum += sign * other.progressPercentageSum;
+            certificatesIssued += sign * other.certificatesIssued;
+        }
+
+        // The percentage sum is left out: it picks up rounding differences on every update
+        boolean sameCounts(Rollups other) {
+            return usersByRole.equals(other.usersByRole) && pendingApprovals == other.pendingApprovals
+                && completionsByPath.equals(other.completionsByPath) && progressRows == other.progressRows
+                && certificatesIssued == other.certificatesIssued;
+        }
+
+        Rollups copy() {
+            Rollups copy = new Rollups();
+            copy.replaceWith(this);
+            return copy;
+        }
+
+        void replaceWith(Rollups other) {
+            usersByRole.clear();
+            usersByRole.putAll(other.usersByRole);
+            pendingApprovals = other.pendingApprovals;
+            completionsByPath.clear();
+            completionsByPath.putAll(other.completionsByPath);
+            progressRows = other.progressRows;
+            progressPercentageSum = other.progressPercentageSum;
+            certificatesIssued = other.certificatesIssued;
+            reconciled = other.reconciled;
+        }
+
+        // Zero entries are dropped so that equal counts compare equal
+        private static <K> void merge(Map<K, Long> counts, K key, long change) {
+            if (change == 0) {
+                return;
+            }
+            counts.merge(key, change, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.sih.userservice.service;
+
+public class EmailAlreadyInUseException extends RuntimeException {
+
+    public EmailAlreadyInUseException() {
+        super("Email already in use");
+    }
+}
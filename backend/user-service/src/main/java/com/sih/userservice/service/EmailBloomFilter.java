@@ -0,0 +1,152 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over every email in users, so signup can skip the existence query for addresses that
+ * are definitely new. Only a hint: the unique constraint on users.email stays the real guard, and
+ * until the filter has been warmed from the table it answers "maybe present" for everything.
+ * Deleted users are never removed, which only costs an occasional extra existence check.
+ */
+@Slf4j
+@Component
+public class EmailBloomFilter {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final Counter definitelyNew;
+    private final Counter maybePresent;
+    private final Counter falsePositives;
+    private volatile boolean warmed;
+
+    public EmailBloomFilter(UserRepository userRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${users.email-filter.enabled:true}") boolean enabled,
+                            @Value("${users.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        // Standard sizing: m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(enabled ? wordCount : 1);
+        this.bitCount = words.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.definitelyNew = checks(meterRegistry, "definitely_new");
+        this.maybePresent = checks(meterRegistry, "maybe_present");
+        this.falsePositives = checks(meterRegistry, "false_positive");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long[] loaded = {0};
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (var emails = userRepository.streamAllEmails()) {
+                emails.forEach(email -> {
+                    put(email);
+                    loaded[0]++;
+                });
+            }
+        });
+        // Signups committed while streaming were added by put() already
+        warmed = true;
+        log.info("Email filter warmed with {} addresses ({} bits, {} hashes) in {} ms",
+                loaded[0], bitCount, hashCount, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * False only if the email has definitely never been registered.
+     */
+    public boolean mightContain(String email) {
+        if (!enabled || !warmed) {
+            return true;
+        }
+        long hash = hash64(email);
+        long h1 = mix(hash);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                definitelyNew.increment();
+                return false;
+            }
+        }
+        maybePresent.increment();
+        return true;
+    }
+
+    public void put(String email) {
+        if (!enabled) {
+            return;
+        }
+        long hash = hash64(email);
+        long h1 = mix(hash);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word;
+            do {
+                word = words.get(index);
+            } while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask));
+        }
+    }
+
+    /**
+     * Records that a "maybe present" answer turned out to be new, for tuning the filter size.
+     */
+    public void recordFalsePositive() {
+        if (warmed) {
+            falsePositives.increment();
+        }
+    }
+
+    public boolean isWarmed() {
+        return warmed;
+    }
+
+    // FNV-1a over the UTF-8 bytes; exact match, like the unique constraint
+    private static long hash64(String email) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("users.email.filter.checks").tag("result", result).register(meterRegistry);
+    }
+}
@@ -0,0 +1,191 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.dto.LeaderboardEntryResponse;
+import com.sih.userservice.dto.LeaderboardPositionResponse;
+import com.sih.userservice.entity.User;
+import com.sih.userservice.repository.LeaderboardRow;
+import com.sih.userservice.repository.UserAchievementsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Global and per-role rankings by points, kept in memory and updated incrementally from
+ * {@link ScoresChangedEvent}s. Rebuilt from user_achievements at startup; events that arrive while the rebuild
+ * streams the table are applied to the old boards as usual and replayed onto the new ones before the swap.
+ *
+ * <p>Events from different transactions can arrive in any order, so each member keeps the score_version of the
+ * score it holds and a score with an older or equal version is dropped. Deleted users leave every board and stay
+ * behind as a tombstone that no later score can revive.
+ */
+@Slf4j
+@Service
+public class LeaderboardService {
+
+    private record Member(String username, User.Role role, int level, long version) {
+    }
+
+    private static final Member REMOVED = new Member(null, null, 0, Long.MAX_VALUE);
+
+    private record Boards(ScoreRankIndex global, Map<User.Role, ScoreRankIndex> byRole, Map<Long, Member> members) {
+
+        static Boards empty() {
+            Map<User.Role, ScoreRankIndex> byRole = new EnumMap<>(User.Role.class);
+            for (User.Role role : User.Role.values()) {
+                byRole.put(role, new ScoreRankIndex());
+            }
+            return new Boards(new ScoreRankIndex(), byRole, new ConcurrentHashMap<>());
+        }
+
+        // A row read from the table, for a user the boards may not know yet
+        void load(LeaderboardRow row) {
+            members.compute(row.getUserId(), (userId, existing) -> put(userId, existing, row.getUsername(),
+                row.getRole(), row.getPointsEarned(), row.getLevel(), row.getScoreVersion()));
+        }
+
+        // Only for known users; compute keeps the version check and the board writes atomic per user
+        void update(Long userId, ScoresChangedEvent.Score score) {
+            members.computeIfPresent(userId, (id, existing) -> put(id, existing, existing.username(),
+                existing.role(), score.pointsEarned(), score.level(), score.version()));
+        }
+
+        void remove(Long userId) {
+            members.compute(userId, (id, existing) -> {
+                global.remove(id);
+                byRole.values().forEach(index -> index.remove(id));
+                return REMOVED;
+            });
+        }
+
+        private Member put(Long userId, Member existing, String username, User.Role role, int points, int level, long version) {
+            if (existing != null && existing.version() >= version) {
+                return existing;
+            }
+            if (existing != null && existing.role() != null && existing.role() != role) {
+                byRole.get(existing.role()).remove(userId);
+            }
+            global.put(userId, points);
+            if (role != null) {
+                byRole.get(role).put(userId, points);
+            }
+            return new Member(username, role, level, version);
+        }
+    }
+
+    private final UserAchievementsRepository userAchievementsRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile Boards boards = Boards.empty();
+    // Guards the swap; non-null while a rebuild is streaming
+    private final Object swapLock = new Object();
+    private List<Consumer<Boards>> missedByRebuild;
+
+    public LeaderboardService(UserAchievementsRepository userAchievementsRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.userAchievementsRepository = userAchievementsRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Boards rebuilt = Boards.empty();
+        synchronized (swapLock) {
+            missedByRebuild = new ArrayList<>();
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (var rows = userAchievementsRepository.streamLeaderboardRows()) {
+                    rows.forEach(rebuilt::load);
+                }
+            });
+            // A replayed score the stream already reflected has no newer version and is dropped; listeners wait
+            // for the swap, so nothing newer reaches the new boards before the replayed events
+            synchronized (swapLock) {
+                missedByRebuild.forEach(change -> change.accept(rebuilt));
+                boards = rebuilt;
+            }
+        } finally {
+            synchronized (swapLock) {
+                missedByRebuild = null;
+            }
+        }
+        log.info("Leaderboard rebuilt with {} users in {} ms", rebuilt.global().size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScoresChanged(ScoresChangedEvent event) {
+        onChange(current -> apply(current, event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserDeleted(UserDeletedEvent event) {
+        onChange(current -> current.remove(event.userId()));
+    }
+
+    private void onChange(Consumer<Boards> change) {
+        Boards current;
+        synchronized (swapLock) {
+            if (missedByRebuild != null) {
+                missedByRebuild.add(change);
+            }
+            current = boards;
+        }
+        change.accept(current);
+    }
+
+    private void apply(Boards current, ScoresChangedEvent event) {
+        Set<Long> unknown = event.scoresByUserId().keySet().stream()
+            .filter(userId -> !current.members().containsKey(userId))
+            .collect(Collectors.toSet());
+        if (!unknown.isEmpty()) {
+            userAchievementsRepository.findLeaderboardRows(unknown).forEach(current::load);
+        }
+        event.scoresByUserId().forEach(current::update);
+    }
+
+    public List<LeaderboardEntryResponse> getTop(User.Role role, int limit) {
+        Boards current = boards;
+        return toResponses(current, index(current, role).range(1, limit));
+    }
+
+    public LeaderboardPositionResponse getPosition(Long userId, User.Role role, int radius) {
+        Boards current = boards;
+        ScoreRankIndex index = index(current, role);
+        int rank = index.rankOf(userId);
+        if (rank == 0) {
+            throw new RuntimeException("User not ranked");
+        }
+        int from = Math.max(1, rank - radius);
+        List<ScoreRankIndex.Entry> neighborhood = index.range(from, rank - from + radius + 1);
+        return new LeaderboardPositionResponse(rank, index.size(), toResponses(current, neighborhood));
+    }
+
+    private static ScoreRankIndex index(Boards current, User.Role role) {
+        return role == null ? current.global() : current.byRole().get(role);
+    }
+
+    private static List<LeaderboardEntryResponse> toResponses(Boards current, List<ScoreRankIndex.Entry> entries) {
+        return entries.stream()
+            .map(entry -> {
+                Member member = current.members().get(entry.userId());
+                return new LeaderboardEntryResponse(entry.rank(), entry.userId(),
+                    member == null ? null : member.username(), (int) entry.score(), member == null ? null : member.level());
+            })
+            .collect(Collectors.toList());
+    }
+}
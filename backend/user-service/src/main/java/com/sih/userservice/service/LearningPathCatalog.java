@@ -0,0 +1,176 @@
+package com.sih.userservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sih.userservice.dto.LearningPathResponse;
+import com.sih.userservice.repository.LearningPathRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the learning path catalog. Readers always see one immutable {@link Snapshot};
+ * reloads build a new snapshot and swap it in atomically.
+ */
+@Component
+public class LearningPathCatalog {
+
+    public record Snapshot(long version, String etag, List<LearningPathResponse> activePaths, Map<Long, LearningPathResponse> pathsById) {
+    }
+
+    // Ids known to be missing from the snapshot of the given version
+    private record Misses(long version, Set<Long> pathIds) {
+    }
+
+    private static final int MAX_CACHED_MISSES = 1024;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final LearningPathRepository learningPathRepository;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    // Not synchronized: reload blocks on the database, which would pin a virtual thread's carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final long missReloadIntervalNanos;
+    private final AtomicLong lastReloadNanos = new AtomicLong();
+    private volatile Misses misses = new Misses(0, Set.of());
+    private final Counter hits;
+    private final Counter missCount;
+    private final Counter reloads;
+
+    public LearningPathCatalog(LearningPathRepository learningPathRepository, MeterRegistry meterRegistry,
+                               @Value("${learning-paths.catalog.miss-reload-interval-ms:5000}") long missReloadIntervalMillis) {
+        this.learningPathRepository = learningPathRepository;
+        this.missReloadIntervalNanos = TimeUnit.MILLISECONDS.toNanos(missReloadIntervalMillis);
+        this.hits = Counter.builder("learning.path.catalog.lookups").tag("result", "hit").register(meterRegistry);
+        this.missCount = Counter.builder("learning.path.catalog.lookups").tag("result", "miss").register(meterRegistry);
+        this.reloads = Counter.builder("learning.path.catalog.reloads").register(meterRegistry);
+        Gauge.builder("learning.path.catalog.version", current, ref -> ref.get() == null ? 0 : ref.get().version())
+            .register(meterRegistry);
+        Gauge.builder("learning.path.catalog.size", current, ref -> ref.get() == null ? 0 : ref.get().pathsById().size())
+            .register(meterRegistry);
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            missCount.increment();
+            return reload();
+        }
+        hits.increment();
+        return snapshot;
+    }
+
+    /**
+     * Looks up any path, active or not. An unknown id may trigger a reload in case the path was added by
+     * another instance since the snapshot was taken, but at most one per miss-reload interval, and an id
+     * already missing from the current snapshot fails without one: bogus ids cannot turn into a stream
+     * of full reloads.
+     */
+    public LearningPathResponse getPath(Long pathId) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            snapshot = reload();
+        }
+        LearningPathResponse path = snapshot.pathsById().get(pathId);
+        if (path != null) {
+            hits.increment();
+            return path;
+        }
+        missCount.increment();
+        Misses known = misses;
+        if ((known.version() == snapshot.version() && known.pathIds().contains(pathId))
+                || System.nanoTime() - lastReloadNanos.get() < missReloadIntervalNanos) {
+            throw new LearningPathNotFoundException();
+        }
+        reloadLock.lock();
+        try {
+            // Concurrent misses share the reload of whichever got the lock first
+            Snapshot latest = current.get();
+            if (latest.version() == snapshot.version() && System.nanoTime() - lastReloadNanos.get() >= missReloadIntervalNanos) {
+                latest = reload();
+            }
+            path = latest.pathsById().get(pathId);
+            if (path == null) {
+                rememberMiss(latest.version(), pathId);
+                throw new LearningPathNotFoundException();
+            }
+            return path;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void rememberMiss(long version, Long pathId) {
+        Misses known = misses;
+        if (known.version() != version) {
+            known = new Misses(version, ConcurrentHashMap.newKeySet());
+            misses = known;
+        }
+        if (known.pathIds().size() < MAX_CACHED_MISSES) {
+            known.pathIds().add(pathId);
+        }
+    }
+
+    public Integer getTotalLessons(Long pathId) {
+        return getPath(pathId).getTotalLessons();
+    }
+
+    public Snapshot reload() {
+        reloadLock.lock();
+        try {
+            List<LearningPathResponse> allPaths = learningPathRepository.findAll().stream()
+                .map(LearningPathResponse::fromEntity)
+                .collect(Collectors.toList());
+            List<LearningPathResponse> activePaths = allPaths.stream()
+                .filter(LearningPathResponse::getIsActive)
+                .sorted((a, b) -> Integer.compare(a.getSortOrder(), b.getSortOrder()))
+                .toList();
+            Map<Long, LearningPathResponse> pathsById = allPaths.stream()
+                .collect(Collectors.toUnmodifiableMap(LearningPathResponse::getPathId, Function.identity()));
+
+            Snapshot previous = current.get();
+            long version = previous == null ? 1 : previous.version() + 1;
+            String etag = etag(activePaths);
+            Snapshot snapshot = new Snapshot(version, etag, activePaths, pathsById);
+            current.set(snapshot);
+            lastReloadNanos.set(System.nanoTime());
+            reloads.increment();
+            return snapshot;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Content-derived so every instance serving the same catalog hands out the same ETag: SHA-256 of the
+    // serialized list, where a 32-bit hash code would let two different catalogs share one
+    private static String etag(List<LearningPathResponse> activePaths) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(JSON.writeValueAsBytes(activePaths));
+            return "\"" + HexFormat.of().formatHex(digest) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLearningPathsChanged(LearningPathsChangedEvent event) {
+        reload();
+    }
+}
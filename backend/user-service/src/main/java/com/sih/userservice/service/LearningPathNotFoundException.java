@@ -0,0 +1,8 @@
+package com.sih.userservice.service;
+
+public class LearningPathNotFoundException extends RuntimeException {
+
+    public LearningPathNotFoundException() {
+        super("Learning path not found");
+    }
+}
@@ -0,0 +1,7 @@
+package com.sih.userservice.service;
+
+/**
+ * Published whenever a learning path is created or edited; the catalog reloads once the change commits.
+ */
+public record LearningPathsChangedEvent() {
+}
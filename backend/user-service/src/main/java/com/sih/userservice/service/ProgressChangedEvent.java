@@ -0,0 +1,9 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.dto.UserProgressResponse;
+
+/**
+ * A user's progress on one learning path as updateProgress left it, published inside its transaction.
+ */
+public record ProgressChangedEvent(Long userId, UserProgressResponse progress) {
+}
@@ -0,0 +1,168 @@
+package com.sih.userservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Carries progress stream events between instances. Reward workers and nightly-job chunks run on whichever instance
+ * claimed the work, and updateProgress on whichever instance took the request, while the user's stream can be open on
+ * any other one. Each such change is sent with a Postgres NOTIFY inside its own transaction, so it goes out when, and
+ * only if, the transaction commits; every instance LISTENs on a dedicated connection and hands the events from other
+ * instances to its local streams.
+ *
+ * <p>Notifications sent while an instance is reconnecting its listener are lost to it. A client that misses one
+ * still converges: the next event carries absolute values, and a reconnect without a replayable id gets a snapshot.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "progress.stream.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class ProgressStreamRelay {
+
+    static final String CHANNEL = "progress_stream";
+
+    // Postgres rejects payloads of 8000 bytes or more, which would fail the transaction that sends them
+    private static final int MAX_PAYLOAD_BYTES = 7000;
+
+    private final ProgressStreamService progressStreamService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final DataSourceProperties dataSourceProperties;
+    private final long reconnectMillis;
+    private final String origin = UUID.randomUUID().toString();
+    private volatile boolean running = true;
+    private Thread listener;
+
+    public ProgressStreamRelay(ProgressStreamService progressStreamService,
+                               JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               DataSourceProperties dataSourceProperties,
+                               @Value("${progress.stream.relay.reconnect-ms:1000}") long reconnectMillis) {
+        this.progressStreamService = progressStreamService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dataSourceProperties = dataSourceProperties;
+        this.reconnectMillis = reconnectMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        listener = Thread.ofPlatform().name("progress-stream-relay").daemon(true).start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        listener.interrupt();
+        listener.join(5000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProgressChanged(ProgressChangedEvent event) {
+        send("progress", Map.of(event.userId(), event.progress()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onAchievementsChanged(AchievementsChangedEvent event) {
+        send("achievements", event.achievementsByUserId());
+    }
+
+    // One notification per batch of users that fits the payload limit; a nightly chunk covers hundreds of users
+    private void send(String event, Map<Long, ?> dataByUserId) {
+        ObjectNode batch = objectMapper.createObjectNode();
+        int batchBytes = 0;
+        for (Map.Entry<Long, ?> entry : dataByUserId.entrySet()) {
+            JsonNode data = objectMapper.valueToTree(entry.getValue());
+            int bytes = data.toString().getBytes(StandardCharsets.UTF_8).length + 24;
+            if (batchBytes + bytes > MAX_PAYLOAD_BYTES && !batch.isEmpty()) {
+                notify(event, batch);
+                batch = objectMapper.createObjectNode();
+                batchBytes = 0;
+            }
+            batch.set(entry.getKey().toString(), data);
+            batchBytes += bytes;
+        }
+        if (!batch.isEmpty()) {
+            notify(event, batch);
+        }
+    }
+
+    private void notify(String event, ObjectNode dataByUserId) {
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("origin", origin);
+        message.put("event", event);
+        message.set("data", dataByUserId);
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, CHANNEL, message.toString());
+    }
+
+    // A connection of its own outside the pool: it is held for the lifetime of the instance
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    // Blocks for at most the timeout, so a stop is noticed within a second
+                    PGNotification[] received = notifications.getNotifications(1000);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Progress stream relay lost its connection, reconnecting in {} ms", reconnectMillis, e);
+                try {
+                    Thread.sleep(reconnectMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        try {
+            JsonNode message = objectMapper.readTree(payload);
+            if (origin.equals(message.path("origin").asText())) {
+                // Already published locally after the commit
+                return;
+            }
+            String event = message.path("event").asText();
+            for (Iterator<Map.Entry<String, JsonNode>> it = message.path("data").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                progressStreamService.publish(Long.valueOf(entry.getKey()), event, entry.getValue());
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring malformed progress stream notification {}", payload, e);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.dto.ProgressSnapshotResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent event streams behind GET /api/progress/stream/{userId}, in place of polling the progress,
+ * achievements and stats endpoints. A stream opens with a "snapshot" event holding all three; after that
+ * "progress" events carry the path row updateProgress left behind and "achievements" events the counters
+ * the reward workers produced. Both carry absolute values, so an event delivered twice is harmless.
+ *
+ * <p>Event ids are "{instance}-{sequence}". While a user has a stream open (and for the retention period
+ * after the last one closes) their latest events are kept in a small ring: a client reconnecting with a
+ * Last-Event-ID still covered by the ring gets only the events it missed, any other id a new snapshot.
+ *
+ * <p>An open stream holds no thread. Events and heartbeat comments go through a per-stream queue drained
+ * on a virtual thread, so a slow client never blocks the writer that produced the event. With several
+ * instances, {@link ProgressStreamRelay} brings in the changes committed on the others, so a stream can be
+ * open on any instance.
+ */
+@Slf4j
+@Service
+public class ProgressStreamService {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final ProgressTrackingService progressTrackingService;
+    private final TransactionTemplate snapshotTransaction;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+    private final long reconnectMillis;
+    private final int replayBufferSize;
+    private final int maxStreamsPerUser;
+    private final long retentionNanos;
+    // Ids from another instance or an earlier run never match this prefix and always get a snapshot
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("progress-stream-", 0).factory());
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("progress-stream-heartbeat").daemon(true).factory());
+    private final Counter snapshotStarts;
+    private final Counter replayStarts;
+
+    public ProgressStreamService(ProgressTrackingService progressTrackingService,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${progress.stream.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${progress.stream.heartbeat-ms:15000}") long heartbeatMillis,
+                                 @Value("${progress.stream.reconnect-ms:3000}") long reconnectMillis,
+                                 @Value("${progress.stream.replay-buffer-size:32}") int replayBufferSize,
+                                 @Value("${progress.stream.max-streams-per-user:5}") int maxStreamsPerUser,
+                                 @Value("${progress.stream.retention-ms:120000}") long retentionMillis) {
+        this.progressTrackingService = progressTrackingService;
+        // On the primary, where everything published so far has committed, and one snapshot for all three reads;
+        // a lagging replica would leave out writes whose events the stream then never gets
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.reconnectMillis = reconnectMillis;
+        this.replayBufferSize = replayBufferSize;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.retentionNanos = TimeUnit.MILLISECONDS.toNanos(retentionMillis);
+        Gauge.builder("progress.stream.connections", openStreams, AtomicInteger::get)
+                .description("Open progress event streams")
+                .register(meterRegistry);
+        this.snapshotStarts = starts(meterRegistry, "snapshot");
+        this.replayStarts = starts(meterRegistry, "replay");
+    }
+
+    @PostConstruct
+    public void startHeartbeats() {
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+        channels.values().forEach(channel -> channel.streams.forEach(stream -> stream.emitter.complete()));
+        senders.shutdown();
+    }
+
+    /**
+     * Opens a stream for the user. Throws {@link IllegalStateException} when the user already has the maximum
+     * number of streams open, and the usual RuntimeException when the user has no progress to stream.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        Stream stream = new Stream(userId, new SseEmitter(timeoutMillis));
+        Channel channel = channels.compute(userId, (id, existing) -> {
+            Channel current = existing != null ? existing : new Channel(sequence.get());
+            if (current.streams.size() >= maxStreamsPerUser) {
+                throw new IllegalStateException("Too many open streams for user " + userId);
+            }
+            current.streams.add(stream);
+            return current;
+        });
+        openStreams.incrementAndGet();
+        stream.emitter.onCompletion(() -> close(stream));
+        stream.emitter.onTimeout(() -> close(stream));
+        stream.emitter.onError(e -> close(stream));
+
+        try {
+            List<Event> missed = channel.eventsAfter(parseSequence(lastEventId));
+            if (missed != null) {
+                replayStarts.increment();
+                stream.start(missed);
+            } else {
+                // Everything published up to this sequence has committed and is part of the snapshot
+                long snapshotSequence = sequence.get();
+                ProgressSnapshotResponse snapshot = snapshotTransaction.execute(status -> new ProgressSnapshotResponse(
+                        progressTrackingService.getUserProgress(userId),
+                        progressTrackingService.getUserAchievements(userId),
+                        progressTrackingService.getProgressStats(userId)));
+                snapshotStarts.increment();
+                stream.start(List.of(new Event(snapshotSequence, "snapshot", snapshot)));
+            }
+        } catch (RuntimeException e) {
+            close(stream);
+            throw e;
+        }
+        return stream.emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProgressChanged(ProgressChangedEvent event) {
+        publish(event.userId(), "progress", event.progress());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAchievementsChanged(AchievementsChangedEvent event) {
+        event.achievementsByUserId().forEach((userId, achievements) -> publish(userId, "achievements", achievements));
+    }
+
+    public int getOpenStreams() {
+        return openStreams.get();
+    }
+
+    // Also called by the relay with the events other instances committed
+    void publish(Long userId, String name, Object data) {
+        Channel channel = channels.get(userId);
+        if (channel == null) {
+            // Nobody is listening and nobody can resume: the next stream starts from a snapshot anyway
+            return;
+        }
+        Event event;
+        synchronized (channel) {
+            event = new Event(sequence.incrementAndGet(), name, data);
+            channel.recent.addLast(event);
+            if (channel.recent.size() > replayBufferSize) {
+                channel.replayableAfter = channel.recent.removeFirst().sequence();
+            }
+        }
+        for (Stream stream : channel.streams) {
+            stream.enqueue(event);
+        }
+    }
+
+    private void heartbeat() {
+        long now = System.nanoTime();
+        channels.forEach((userId, channel) -> {
+            channel.streams.forEach(Stream::heartbeat);
+            // Drops channels nobody has listened to for the retention period; re-checked under the map's lock
+            channels.computeIfPresent(userId, (id, current) ->
+                    current.streams.isEmpty() && now - current.idleSince > retentionNanos ? null : current);
+        });
+    }
+
+    private void close(Stream stream) {
+        if (!stream.closed.compareAndSet(false, true)) {
+            return;
+        }
+        openStreams.decrementAndGet();
+        channels.computeIfPresent(stream.userId, (id, channel) -> {
+            if (channel.streams.remove(stream) && channel.streams.isEmpty()) {
+                channel.idleSince = System.nanoTime();
+            }
+            return channel;
+        });
+    }
+
+    private long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(instanceId + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(instanceId.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Counter starts(MeterRegistry meterRegistry, String start) {
+        return Counter.builder("progress.stream.starts")
+                .description("Progress streams opened, by how the client was brought up to date")
+                .tag("start", start)
+                .register(meterRegistry);
+    }
+
+    private record Event(long sequence, String name, Object data) {
+    }
+
+    private final class Channel {
+
+        private final List<Stream> streams = new CopyOnWriteArrayList<>();
+        // Latest events, oldest first; guarded by the channel
+        private final Deque<Event> recent = new ArrayDeque<>();
+        // Every event after this sequence is still in recent
+        private long replayableAfter;
+        private volatile long idleSince = System.nanoTime();
+
+        private Channel(long createdAt) {
+            this.replayableAfter = createdAt;
+        }
+
+        // Events a client that saw lastSequence has missed, or null when they are no longer all here
+        private synchronized List<Event> eventsAfter(long lastSequence) {
+            if (lastSequence < replayableAfter || lastSequence > sequence.get()) {
+                return null;
+            }
+            List<Event> missed = new ArrayList<>();
+            for (Event event : recent) {
+                if (event.sequence() > lastSequence) {
+                    missed.add(event);
+                }
+            }
+            return missed;
+        }
+    }
+
+    private final class Stream {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Sent ahead of the queue; events queued while the stream was being set up may repeat them
+        private volatile List<Event> initial;
+        private volatile boolean started;
+        // Only touched by the drain in progress
+        private long lastSentSequence = -1;
+
+        private Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void start(List<Event> events) {
+            initial = events;
+            started = true;
+            scheduleDrain();
+        }
+
+        private void enqueue(Event event) {
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void heartbeat() {
+            if (pending.isEmpty()) {
+                pending.add(HEARTBEAT);
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (started && !closed.get() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                List<Event> first = initial;
+                if (first != null) {
+                    initial = null;
+                    for (Event event : first) {
+                        send(event);
+                    }
+                    if (first.isEmpty()) {
+                        // A resumed stream with nothing missed still tells the client it is connected
+                        emitter.send(SseEmitter.event().reconnectTime(reconnectMillis).comment("resumed"));
+                    }
+                }
+                Object item;
+                while ((item = pending.poll()) != null) {
+                    if (item == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        send((Event) item);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client gone, or the emitter already completed
+                log.debug("Progress stream of user {} closed: {}", userId, e.getMessage());
+                close(this);
+                emitter.complete();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(Event event) throws IOException {
+            if (event.sequence() <= lastSentSequence) {
+                return;
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                    .id(instanceId + "-" + event.sequence())
+                    .name(event.name())
+                    .data(event.data());
+            if ("snapshot".equals(event.name())) {
+                builder.reconnectTime(reconnectMillis);
+            }
+            emitter.send(builder);
+            lastSentSequence = event.sequence();
+        }
+    }
+}
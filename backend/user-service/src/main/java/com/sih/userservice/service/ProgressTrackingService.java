@@ -4,10 +4,14 @@ import com.sih.userservice.dto.*;
 import com.sih.userservice.entity.*;
 import com.sih.userservice.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -19,133 +23,181 @@ public class ProgressTrackingService {
     private final LearningPathRepository learningPathRepository;
     private final UserProgressRepository userProgressRepository;
     private final UserAchievementsRepository userAchievementsRepository;
+    private final RewardOutboxRepository rewardOutboxRepository;
+    private final LearningPathCatalog learningPathCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${progress.stats.use-counters:true}")
+    private boolean useStatsCounters;
+    
+    // Keeps the IN list well below the Postgres bind parameter limit
+    private static final int INITIALIZE_CHUNK_SIZE = 1000;
+    
+    private static final int DEFAULT_STARTING_POINTS = 2485;
+    private static final int DEFAULT_STARTING_CERTIFICATES = 3;
+    private static final int DEFAULT_STARTING_LEVEL = 8;
+    private static final int DEFAULT_STARTING_STREAK = 7;
+    
+    private static final int COMPLETION_POINTS = 50;
     
     @Transactional
     public void initializeUserProgress(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        // Initialize user achievements if not exists
-        if (!userAchievementsRepository.findByUser(user).isPresent()) {
-            UserAchievements achievements = new UserAchievements();
-            achievements.setUser(user);
-            achievements.setPointsEarned(2485); // Default starting points
-            achievements.setCertificatesEarned(3); // Default starting certificates
-            achievements.setLevel(8); // Default starting level
-            achievements.setStreak(7); // Default starting streak
-            achievements.setLastActiveDate(java.time.LocalDate.now().toString());
-            userAchievementsRepository.save(achievements);
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
         }
-        
-        // Initialize learning paths if not exist
+        seedUserProgress(List.of(userId));
+    }
+    
+    @Transactional
+    public InitializeProgressResponse initializeUserProgress(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one userId is required");
+        }
+        List<Long> distinctIds = userIds.stream().distinct().collect(Collectors.toList());
+        int achievementsCreated = 0;
+        int progressRowsCreated = 0;
+        for (int from = 0; from < distinctIds.size(); from += INITIALIZE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + INITIALIZE_CHUNK_SIZE, distinctIds.size()));
+            int[] created = seedUserProgress(chunk);
+            achievementsCreated += created[0];
+            progressRowsCreated += created[1];
+        }
+        return new InitializeProgressResponse(distinctIds.size(), achievementsCreated, progressRowsCreated);
+    }
+    
+    // Three set-based statements per chunk regardless of how many users or paths are involved
+    private int[] seedUserProgress(List<Long> userIds) {
+        List<Long> seededUserIds = userAchievementsRepository.insertMissingAchievements(
+            userIds,
+            DEFAULT_STARTING_POINTS,
+            DEFAULT_STARTING_CERTIFICATES,
+            DEFAULT_STARTING_LEVEL,
+            DEFAULT_STARTING_STREAK,
+            java.time.LocalDate.now().toString());
+        int progressRowsCreated = userProgressRepository.insertMissingProgress(userIds);
+        userAchievementsRepository.reconcilePathCounters(userIds);
+        eventPublisher.publishEvent(StatsDeltaEvent.progressSeeded(progressRowsCreated,
+            seededUserIds.size() * DEFAULT_STARTING_CERTIFICATES));
+        if (!seededUserIds.isEmpty()) {
+            ScoresChangedEvent.Score startingScore = new ScoresChangedEvent.Score(DEFAULT_STARTING_POINTS, DEFAULT_STARTING_LEVEL, 0);
+            eventPublisher.publishEvent(new ScoresChangedEvent(seededUserIds.stream()
+                .collect(Collectors.toMap(id -> id, id -> startingScore))));
+        }
+        return new int[] {seededUserIds.size(), progressRowsCreated};
+    }
+    
+    @Transactional
+    public void initializeLearningPathsIfEmpty() {
         if (learningPathRepository.count() == 0) {
             initializeLearningPaths();
-        }
-        
-        // Initialize user progress for all learning paths
-        List<LearningPath> allPaths = learningPathRepository.findAllActivePaths();
-        for (LearningPath path : allPaths) {
-            if (!userProgressRepository.findByUserAndLearningPath_PathId(user, path.getPathId()).isPresent()) {
-                UserProgress progress = new UserProgress();
-                progress.setUser(user);
-                progress.setLearningPath(path);
-                progress.setLessonsCompleted(0);
-                progress.setProgressPercentage(0.0);
-                progress.setStatus(UserProgress.Status.NOT_STARTED);
-                userProgressRepository.save(progress);
-            }
+            eventPublisher.publishEvent(new LearningPathsChangedEvent());
         }
     }
     
     @Transactional
-    public UserProgressResponse updateProgress(Long userId, UpdateProgressRequest request) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        LearningPath learningPath = learningPathRepository.findById(request.getPathId())
+    public LearningPathResponse createLearningPath(LearningPathRequest request) {
+        LearningPath path = new LearningPath();
+        applyLearningPathRequest(path, request);
+        LearningPath saved = learningPathRepository.save(path);
+        eventPublisher.publishEvent(new LearningPathsChangedEvent());
+        return LearningPathResponse.fromEntity(saved);
+    }
+    
+    @Transactional
+    public LearningPathResponse updateLearningPath(Long pathId, LearningPathRequest request) {
+        LearningPath path = learningPathRepository.findById(pathId)
             .orElseThrow(() -> new RuntimeException("Learning path not found"));
+        applyLearningPathRequest(path, request);
+        eventPublisher.publishEvent(new LearningPathsChangedEvent());
+        return LearningPathResponse.fromEntity(path);
+    }
+    
+    @Transactional
+    public UserProgressResponse updateProgress(Long userId, UpdateProgressRequest request) {
+        LearningPathResponse learningPath = learningPathCatalog.getPath(request.getPathId());
         
-        UserProgress progress = userProgressRepository.findByUserAndLearningPath_PathId(user, request.getPathId())
-            .orElseThrow(() -> new RuntimeException("User progress not found"));
-        
-        // Calculate new progress
-        int currentLessons = progress.getLessonsCompleted();
+        // Calculate the increment; the clamp to totalLessons happens atomically in the UPDATE
         int totalLessons = learningPath.getTotalLessons();
         int incrementLessons = Math.max(1, (int) Math.ceil((request.getIncrementPercent() / 100.0) * totalLessons));
-        int newLessonsCompleted = Math.min(totalLessons, currentLessons + incrementLessons);
         
-        // Update progress
-        progress.updateProgress(newLessonsCompleted, totalLessons);
-        UserProgress savedProgress = userProgressRepository.save(progress);
+        // Also moves the completed-path counter and streak, and marks today in the user's activity bitmap
+        LocalDate today = LocalDate.now();
+        ProgressUpdateResult result = userProgressRepository
+            .incrementLessons(userId, request.getPathId(), incrementLessons, totalLessons,
+                today.toString(), today.minusDays(1).toString(), today.getYear(), today.getDayOfYear() - 1)
+            .orElseThrow(() -> new RuntimeException("User progress not found"));
         
-        // Check if path is completed and award points/certificate
-        if (savedProgress.getStatus() == UserProgress.Status.COMPLETED) {
-            awardCompletionRewards(user);
+        boolean completed = UserProgress.Status.COMPLETED.name().equals(result.getStatus());
+        boolean wasCompleted = UserProgress.Status.COMPLETED.name().equals(result.getPreviousStatus());
+        if (Boolean.TRUE.equals(result.getCompletionRewardDue())) {
+            queueCompletionReward(userId, request.getPathId());
         }
+        eventPublisher.publishEvent(StatsDeltaEvent.progressUpdated(request.getPathId(),
+            result.getProgressPercentage() - result.getPreviousProgressPercentage(),
+            completed == wasCompleted ? 0 : completed ? 1 : -1));
         
-        return UserProgressResponse.fromEntity(savedProgress);
+        UserProgressResponse response = new UserProgressResponse(result.getProgressId(), learningPath.getPathId(),
+            learningPath.getTitle(), result.getLessonsCompleted(), result.getProgressPercentage(),
+            UserProgress.Status.valueOf(result.getStatus()), result.getUpdatedAt());
+        eventPublisher.publishEvent(new ProgressChangedEvent(userId, response));
+        if (result.getStreak() != null) {
+            eventPublisher.publishEvent(new AchievementsChangedEvent(Map.of(userId, new AchievementsChangedEvent.Achievements(
+                result.getPointsEarned(), result.getCertificatesEarned(), result.getLevel(), result.getStreak(),
+                result.getCompletedPaths()))));
+        }
+        return response;
     }
     
-    @Transactional
-    private void awardCompletionRewards(User user) {
-        UserAchievements achievements = userAchievementsRepository.findByUser(user)
-            .orElseThrow(() -> new RuntimeException("User achievements not found"));
-        
-        // Add 50 points and 1 certificate
-        achievements.addPoints(50);
-        achievements.addCertificate();
-        achievements.updateStreak();
-        
-        userAchievementsRepository.save(achievements);
+    // Points, certificate, level and streak are applied by RewardOutboxProcessor after this transaction commits;
+    // the completed-path counter was already moved by incrementLessons
+    private void queueCompletionReward(Long userId, Long pathId) {
+        RewardOutboxEvent event = new RewardOutboxEvent();
+        event.setUserId(userId);
+        event.setPathId(pathId);
+        event.setPoints(COMPLETION_POINTS);
+        rewardOutboxRepository.save(event);
+        eventPublisher.publishEvent(new RewardQueuedEvent());
     }
     
     public List<LearningPathResponse> getAllLearningPaths() {
-        return learningPathRepository.findAllActivePaths().stream()
-            .map(this::mapToLearningPathResponse)
-            .collect(Collectors.toList());
+        return learningPathCatalog.snapshot().activePaths();
+    }
+    
+    public LearningPathCatalog.Snapshot getLearningPathCatalog() {
+        return learningPathCatalog.snapshot();
     }
     
+    @Transactional(readOnly = true)
     public List<UserProgressResponse> getUserProgress(Long userId) {
-        return userProgressRepository.findByUserId(userId).stream()
-            .map(UserProgressResponse::fromEntity)
-            .collect(Collectors.toList());
+        return userProgressRepository.findProgressResponsesByUserId(userId);
     }
     
+    @Transactional(readOnly = true)
     public UserAchievementsResponse getUserAchievements(Long userId) {
         UserAchievements achievements = userAchievementsRepository.findByUser_Id(userId)
             .orElseThrow(() -> new RuntimeException("User achievements not found"));
         return UserAchievementsResponse.fromEntity(achievements);
     }
     
+    @Transactional(readOnly = true)
     public ProgressStatsResponse getProgressStats(Long userId) {
-        Long completedPaths = userProgressRepository.countCompletedPathsByUserId(userId);
-        Long totalPaths = userProgressRepository.countTotalPathsByUserId(userId);
-        
-        UserAchievements achievements = userAchievementsRepository.findByUser_Id(userId)
+        Optional<ProgressStatsResponse> stats = useStatsCounters
+            ? userAchievementsRepository.findProgressStatsFromCounters(userId)
+            : Optional.empty();
+        return stats
+            .or(() -> userAchievementsRepository.aggregateProgressStats(userId))
             .orElseThrow(() -> new RuntimeException("User achievements not found"));
-        
-        return new ProgressStatsResponse(
-            totalPaths.intValue(),
-            completedPaths.intValue(),
-            achievements.getCertificatesEarned(),
-            achievements.getPointsEarned(),
-            achievements.getLevel(),
-            achievements.getStreak()
-        );
     }
     
-    private LearningPathResponse mapToLearningPathResponse(LearningPath path) {
-        LearningPathResponse response = new LearningPathResponse();
-        response.setPathId(path.getPathId());
-        response.setTitle(path.getTitle());
-        response.setDescription(path.getDescription());
-        response.setTotalLessons(path.getTotalLessons());
-        response.setIcon(path.getIcon());
-        response.setColor(path.getColor());
-        response.setBgColor(path.getBgColor());
-        response.setSortOrder(path.getSortOrder());
-        response.setIsActive(path.getIsActive());
-        return response;
+    private void applyLearningPathRequest(LearningPath path, LearningPathRequest request) {
+        if (request.getTitle() != null) path.setTitle(request.getTitle());
+        if (request.getDescription() != null) path.setDescription(request.getDescription());
+        if (request.getTotalLessons() != null) path.setTotalLessons(request.getTotalLessons());
+        if (request.getIcon() != null) path.setIcon(request.getIcon());
+        if (request.getColor() != null) path.setColor(request.getColor());
+        if (request.getBgColor() != null) path.setBgColor(request.getBgColor());
+        if (request.getSortOrder() != null) path.setSortOrder(request.getSortOrder());
+        if (request.getIsActive() != null) path.setIsActive(request.getIsActive());
     }
     
     private void initializeLearningPaths() {
@@ -0,0 +1,208 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.repository.AwardedScore;
+import com.sih.userservice.repository.ClaimedReward;
+import com.sih.userservice.repository.RewardOutboxRepository;
+import com.sih.userservice.repository.UserAchievementsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Applies queued completion rewards off the request path. Workers claim batches from the outbox,
+ * fold them into one achievements UPDATE per user and delete the claimed rows in the same transaction.
+ * Rewards that cannot be applied are moved to reward_dead_letter in that transaction rather than lost.
+ */
+@Slf4j
+@Component
+public class RewardOutboxProcessor {
+
+    private final RewardOutboxRepository rewardOutboxRepository;
+    private final UserAchievementsRepository userAchievementsRepository;
+    private final UserActivityService userActivityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int workerCount;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final ScheduledExecutorService workers;
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+    private final AtomicLong deadLetterDepth = new AtomicLong();
+    private final Counter applied;
+    private final Counter deadLettered;
+    private final Timer lag;
+
+    public RewardOutboxProcessor(RewardOutboxRepository rewardOutboxRepository,
+                                 UserAchievementsRepository userAchievementsRepository,
+                                 UserActivityService userActivityService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${rewards.outbox.workers:2}") int workerCount,
+                                 @Value("${rewards.outbox.batch-size:200}") int batchSize,
+                                 @Value("${rewards.outbox.poll-interval-ms:500}") long pollIntervalMillis,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.rewardOutboxRepository = rewardOutboxRepository;
+        this.userAchievementsRepository = userAchievementsRepository;
+        this.userActivityService = userActivityService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        ThreadFactory threadFactory = virtualThreads
+            ? Thread.ofVirtual().name("reward-worker-", 0).factory()
+            : Thread.ofPlatform().name("reward-worker-", 0).daemon(true).factory();
+        this.workers = Executors.newScheduledThreadPool(workerCount, threadFactory);
+        this.applied = Counter.builder("rewards.outbox.applied").register(meterRegistry);
+        this.deadLettered = Counter.builder("rewards.outbox.dead_lettered")
+            .description("Rewards moved to reward_dead_letter because they could not be applied")
+            .register(meterRegistry);
+        this.lag = Timer.builder("rewards.outbox.lag")
+            .description("Time from completion to reward applied")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("rewards.outbox.depth", queueDepth, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("rewards.outbox.oldest.age", oldestPendingAgeMillis, AtomicLong::get)
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        // Non-zero needs an operator: the rewards wait there until they are queued again
+        Gauge.builder("rewards.outbox.dead_letter.depth", deadLetterDepth, AtomicLong::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.scheduleWithFixedDelay(this::drainQuietly, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdown();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRewardQueued(RewardQueuedEvent event) {
+        // At most one extra wake-up in flight; the pollers pick up anything that arrives meanwhile
+        if (wakeupPending.compareAndSet(false, true)) {
+            workers.execute(() -> {
+                wakeupPending.set(false);
+                drainQuietly();
+            });
+        }
+    }
+
+    /**
+     * Applies everything currently queued and returns the number of rewards claimed, applied or dead-lettered.
+     */
+    public int drain() {
+        int total = 0;
+        int claimed;
+        do {
+            Map<Long, AwardedScore> awardedByUserId = new HashMap<>();
+            claimed = transactionTemplate.execute(status -> applyBatch(awardedByUserId));
+            total += claimed;
+            if (!awardedByUserId.isEmpty()) {
+                publishAwards(awardedByUserId);
+            }
+        } while (claimed == batchSize);
+        refreshQueueMetrics();
+        return total;
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (Exception e) {
+            log.error("Reward outbox drain failed; pending rewards stay queued", e);
+        }
+    }
+
+    private int applyBatch(Map<Long, AwardedScore> awardedByUserId) {
+        List<ClaimedReward> claimed = rewardOutboxRepository.claimBatch(batchSize);
+        Map<Long, List<ClaimedReward>> byUser = claimed.stream().collect(Collectors.groupingBy(ClaimedReward::getUserId));
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Map<LocalDate, Integer>> pointsByUserAndDay = new HashMap<>();
+        for (Map.Entry<Long, List<ClaimedReward>> entry : byUser.entrySet()) {
+            List<ClaimedReward> rewards = entry.getValue();
+            int points = rewards.stream().mapToInt(ClaimedReward::getPoints).sum();
+            userAchievementsRepository.awardCompletion(entry.getKey(), points, rewards.size())
+                .ifPresentOrElse(
+                    score -> {
+                        awardedByUserId.put(entry.getKey(), score);
+                        pointsByUserAndDay.put(entry.getKey(), rewards.stream().collect(Collectors.groupingBy(
+                            reward -> reward.getCreatedAt().toLocalDate(), Collectors.summingInt(ClaimedReward::getPoints))));
+                    },
+                    () -> deadLetter(rewards, "no achievements row"));
+        }
+        // Points history for the activity charts, on the day each completion happened
+        userActivityService.recordPoints(pointsByUserAndDay);
+        // One certificate per applied reward
+        int certificates = awardedByUserId.keySet().stream().mapToInt(userId -> byUser.get(userId).size()).sum();
+        if (certificates > 0) {
+            eventPublisher.publishEvent(StatsDeltaEvent.certificatesIssued(certificates));
+        }
+        for (Long userId : awardedByUserId.keySet()) {
+            byUser.get(userId).forEach(reward -> lag.record(Duration.between(reward.getCreatedAt(), now)));
+        }
+        applied.increment(certificates);
+        return claimed.size();
+    }
+
+    private void deadLetter(List<ClaimedReward> rewards, String reason) {
+        for (ClaimedReward reward : rewards) {
+            rewardOutboxRepository.deadLetter(reward.getEventId(), reward.getUserId(), reward.getPathId(),
+                reward.getPoints(), reward.getCreatedAt(), reason);
+        }
+        deadLettered.increment(rewards.size());
+        log.error("Moved {} reward(s) for user {} to reward_dead_letter: {}", rewards.size(), rewards.get(0).getUserId(), reason);
+    }
+
+    private void publishAwards(Map<Long, AwardedScore> awardedByUserId) {
+        Map<Long, ScoresChangedEvent.Score> scores = new HashMap<>();
+        Map<Long, AchievementsChangedEvent.Achievements> achievements = new HashMap<>();
+        awardedByUserId.forEach((userId, awarded) -> {
+            scores.put(userId, new ScoresChangedEvent.Score(awarded.getPointsEarned(), awarded.getLevel(),
+                awarded.getScoreVersion()));
+            achievements.put(userId, new AchievementsChangedEvent.Achievements(awarded.getPointsEarned(),
+                awarded.getCertificatesEarned(), awarded.getLevel(), awarded.getStreak(), awarded.getCompletedPaths()));
+        });
+        eventPublisher.publishEvent(new ScoresChangedEvent(scores));
+        eventPublisher.publishEvent(new AchievementsChangedEvent(achievements));
+    }
+
+    private void refreshQueueMetrics() {
+        queueDepth.set(rewardOutboxRepository.count());
+        LocalDateTime oldest = rewardOutboxRepository.findOldestPendingCreatedAt();
+        oldestPendingAgeMillis.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis());
+        deadLetterDepth.set(rewardOutboxRepository.countDeadLettered());
+    }
+}
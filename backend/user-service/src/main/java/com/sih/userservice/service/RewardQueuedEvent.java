@@ -0,0 +1,7 @@
+package com.sih.userservice.service;
+
+/**
+ * Published when a completion reward is written to the outbox; wakes a reward worker once the write commits.
+ */
+public record RewardQueuedEvent() {
+}
@@ -0,0 +1,210 @@
+package com.sih.userservice.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indexable skip list of (userId, score) ordered by score descending, then userId ascending.
+ * Every forward link records how many nodes it skips, so insert, remove, rank-of and
+ * entry-at-rank are all O(log n). Ranks are 1-based. Thread-safe.
+ */
+public class ScoreRankIndex {
+
+    public record Entry(int rank, long userId, long score) {
+    }
+
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private static final class Node {
+        final long userId;
+        final long score;
+        final Node[] next;
+        final int[] span;
+
+        Node(long userId, long score, int level) {
+            this.userId = userId;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+
+    private final Node head = new Node(Long.MIN_VALUE, Long.MAX_VALUE, MAX_LEVEL);
+    private final Map<Long, Long> scores = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int level = 1;
+
+    public void put(long userId, long score) {
+        lock.writeLock().lock();
+        try {
+            Long previous = scores.put(userId, score);
+            if (previous != null) {
+                if (previous == score) {
+                    return;
+                }
+                delete(userId, previous);
+            }
+            insert(userId, score);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            Long previous = scores.remove(userId);
+            if (previous != null) {
+                delete(userId, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return scores.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 1-based rank of the user, or 0 when the user is not ranked.
+     */
+    public int rankOf(long userId) {
+        lock.readLock().lock();
+        try {
+            Long score = scores.get(userId);
+            if (score == null) {
+                return 0;
+            }
+            Node x = head;
+            int rank = 0;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && !isAfter(x.next[i], score, userId)) {
+                    rank += x.span[i];
+                    x = x.next[i];
+                }
+                if (x != head && x.userId == userId) {
+                    return rank;
+                }
+            }
+            return 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code count} entries starting at the 1-based rank {@code fromRank}.
+     */
+    public List<Entry> range(int fromRank, int count) {
+        lock.readLock().lock();
+        try {
+            List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(count, scores.size())));
+            if (fromRank < 1 || count <= 0 || fromRank > scores.size()) {
+                return entries;
+            }
+            Node x = head;
+            int traversed = 0;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && traversed + x.span[i] <= fromRank) {
+                    traversed += x.span[i];
+                    x = x.next[i];
+                }
+            }
+            for (int rank = fromRank; x != null && entries.size() < count; rank++, x = x.next[0]) {
+                entries.add(new Entry(rank, x.userId, x.score));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // True when node sorts strictly after (score, userId)
+    private static boolean isAfter(Node node, long score, long userId) {
+        return node.score < score || (node.score == score && node.userId > userId);
+    }
+
+    private static boolean isBefore(Node node, long score, long userId) {
+        return node.score > score || (node.score == score && node.userId < userId);
+    }
+
+    private void insert(long userId, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && isBefore(x.next[i], score, userId)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = scores.size() - 1;
+            }
+            level = nodeLevel;
+        }
+        Node node = new Node(userId, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+    }
+
+    private void delete(long userId, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && isBefore(x.next[i], score, userId)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        Node target = x.next[0];
+        if (target == null || target.userId != userId) {
+            throw new IllegalStateException("Rank index out of sync for user " + userId);
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i] -= 1;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevel < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+}
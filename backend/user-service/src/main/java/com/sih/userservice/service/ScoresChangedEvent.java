@@ -0,0 +1,13 @@
+package com.sih.userservice.service;
+
+import java.util.Map;
+
+/**
+ * New absolute point totals and levels for the given users, published by every write that changes points_earned.
+ * Each score carries the row's score_version after the write, so a listener can tell an older score arriving late.
+ */
+public record ScoresChangedEvent(Map<Long, Score> scoresByUserId) {
+
+    public record Score(int pointsEarned, int level, long version) {
+    }
+}
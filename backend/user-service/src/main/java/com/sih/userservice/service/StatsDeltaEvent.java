@@ -0,0 +1,47 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.entity.User;
+
+import java.util.Map;
+
+/**
+ * What one write changed in the admin dashboard aggregates, published inside its transaction and folded into
+ * {@link AdminStatsService} after commit.
+ */
+public record StatsDeltaEvent(Map<User.Role, Integer> usersByRole,
+                              int pendingApprovals,
+                              Map<Long, Integer> completionsByPath,
+                              int progressRows,
+                              double progressPercentageSum,
+                              int certificatesIssued) {
+
+    public static StatsDeltaEvent usersAdded(User.Role role, boolean enabled, int count) {
+        return new StatsDeltaEvent(byRole(role, count), enabled ? 0 : count, Map.of(), 0, 0, 0);
+    }
+
+    public static StatsDeltaEvent userRemoved(User.Role role, boolean enabled) {
+        return new StatsDeltaEvent(byRole(role, -1), enabled ? 0 : -1, Map.of(), 0, 0, 0);
+    }
+
+    public static StatsDeltaEvent userApproved() {
+        return new StatsDeltaEvent(Map.of(), -1, Map.of(), 0, 0, 0);
+    }
+
+    // New user_progress rows start at 0%, new achievements rows with their seeded certificates
+    public static StatsDeltaEvent progressSeeded(int progressRows, int certificates) {
+        return new StatsDeltaEvent(Map.of(), 0, Map.of(), progressRows, 0, certificates);
+    }
+
+    public static StatsDeltaEvent progressUpdated(Long pathId, double percentageChange, int completionsChange) {
+        return new StatsDeltaEvent(Map.of(), 0, completionsChange == 0 ? Map.of() : Map.of(pathId, completionsChange),
+            0, percentageChange, 0);
+    }
+
+    public static StatsDeltaEvent certificatesIssued(int certificates) {
+        return new StatsDeltaEvent(Map.of(), 0, Map.of(), 0, 0, certificates);
+    }
+
+    private static Map<User.Role, Integer> byRole(User.Role role, int count) {
+        return role == null ? Map.of() : Map.of(role, count);
+    }
+}
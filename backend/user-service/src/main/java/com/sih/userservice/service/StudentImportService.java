@@ -0,0 +1,250 @@
+package com.sih.userservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sih.userservice.dto.CreateUserRequest;
+import com.sih.userservice.dto.StudentImportResponse;
+import com.sih.userservice.dto.StudentImportRowResult;
+import com.sih.userservice.dto.StudentImportRowResult.Status;
+import com.sih.userservice.entity.User;
+import com.sih.userservice.repository.UserImportRepository;
+import com.sih.userservice.repository.UserImportRepository.NewStudent;
+import com.sih.userservice.security.PasswordHashingExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk student import from a CSV or JSON upload, read as a stream. Rows go through in chunks: while one chunk's
+ * passwords are hashed in parallel on the bulk hashing pool, the previous chunk is inserted with a single statement
+ * and its progress and achievements are seeded set-based, in one transaction per chunk. Every row gets a result.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+    private static final int MAX_LENGTH = 255;
+
+    private final UserImportRepository userImportRepository;
+    private final ProgressTrackingService progressTrackingService;
+    private final PasswordHashingExecutor passwordHashing;
+    private final EmailBloomFilter emailFilter;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record Candidate(int row, CreateUserRequest request) {
+    }
+
+    private record HashedChunk(List<Candidate> candidates, CompletableFuture<List<String>> hashes) {
+    }
+
+    /**
+     * CSV with a header row naming at least email and password; firstName/first_name and lastName/last_name
+     * are optional. Other columns are ignored.
+     */
+    public StudentImportResponse importCsv(InputStream in) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            return new StudentImportResponse();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", ""), i);
+        }
+        if (!columns.containsKey("email") || !columns.containsKey("password")) {
+            throw new IllegalArgumentException("CSV header must name email and password columns");
+        }
+        return importStudents(new Iterator<>() {
+            private List<String> nextRecord = reader.next();
+
+            @Override
+            public boolean hasNext() {
+                return nextRecord != null;
+            }
+
+            @Override
+            public CreateUserRequest next() {
+                if (nextRecord == null) {
+                    throw new NoSuchElementException();
+                }
+                CreateUserRequest request = new CreateUserRequest();
+                request.setEmail(field(nextRecord, columns.get("email")));
+                request.setPassword(field(nextRecord, columns.get("password")));
+                request.setFirstName(field(nextRecord, columns.get("firstname")));
+                request.setLastName(field(nextRecord, columns.get("lastname")));
+                try {
+                    nextRecord = reader.next();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Unreadable CSV: " + e.getMessage(), e);
+                }
+                return request;
+            }
+        });
+    }
+
+    /** A JSON array of objects shaped like CreateUserRequest, or the same objects one per line (NDJSON). */
+    public StudentImportResponse importJson(InputStream in) throws IOException {
+        return importStudents(objectMapper.readerFor(CreateUserRequest.class).readValues(in));
+    }
+
+    StudentImportResponse importStudents(Iterator<CreateUserRequest> rows) {
+        StudentImportResponse response = new StudentImportResponse();
+        Set<String> seenEmails = new HashSet<>();
+        List<Candidate> chunk = new ArrayList<>(CHUNK_SIZE);
+        HashedChunk hashing = null;
+        int row = 0;
+        while (true) {
+            CreateUserRequest request;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                request = rows.next();
+            } catch (RuntimeException e) {
+                // Malformed input: keep what was imported so far and report where reading stopped
+                response.add(new StudentImportRowResult(row + 1, null, Status.FAILED, null, "Unreadable input: " + e.getMessage()));
+                break;
+            }
+            row++;
+            String problem = validate(request);
+            if (problem != null) {
+                response.add(new StudentImportRowResult(row, request == null ? null : request.getEmail(), Status.INVALID, null, problem));
+                continue;
+            }
+            request.setEmail(request.getEmail().trim());
+            if (!seenEmails.add(request.getEmail())) {
+                response.add(new StudentImportRowResult(row, request.getEmail(), Status.DUPLICATE, null, "Duplicate email in file"));
+                continue;
+            }
+            chunk.add(new Candidate(row, request));
+            if (chunk.size() == CHUNK_SIZE) {
+                hashing = hashAndInsertPrevious(hashing, chunk, response);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        hashing = hashAndInsertPrevious(hashing, chunk, response);
+        if (hashing != null) {
+            insert(hashing, response);
+        }
+        response.getRows().sort(Comparator.comparingInt(StudentImportRowResult::getRow));
+        log.info("Student import: {} rows, {} created, {} duplicates, {} invalid, {} failed", response.getTotal(),
+                response.getCreated(), response.getDuplicates(), response.getInvalid(), response.getFailed());
+        return response;
+    }
+
+    // Starts hashing this chunk, then inserts the previous one while the hashing runs
+    private HashedChunk hashAndInsertPrevious(HashedChunk previous, List<Candidate> chunk, StudentImportResponse response) {
+        HashedChunk next = chunk.isEmpty() ? null : startHashing(chunk, response);
+        if (previous != null) {
+            insert(previous, response);
+        }
+        return next;
+    }
+
+    private HashedChunk startHashing(List<Candidate> chunk, StudentImportResponse response) {
+        // Only emails the filter may have seen need the query; no point hashing for accounts that exist
+        List<String> maybeTaken = chunk.stream().map(c -> c.request().getEmail()).filter(emailFilter::mightContain).toList();
+        Set<String> taken = userImportRepository.findExistingEmails(maybeTaken);
+        List<Candidate> fresh = new ArrayList<>(chunk.size());
+        for (Candidate candidate : chunk) {
+            if (taken.contains(candidate.request().getEmail())) {
+                response.add(new StudentImportRowResult(candidate.row(), candidate.request().getEmail(), Status.DUPLICATE, null, "Email already in use"));
+            } else {
+                fresh.add(candidate);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return null;
+        }
+        return new HashedChunk(fresh, passwordHashing.encodeAll(fresh.stream().map(c -> c.request().getPassword()).toList()));
+    }
+
+    private void insert(HashedChunk chunk, StudentImportResponse response) {
+        Map<String, Long> ids;
+        try {
+            List<String> hashes = chunk.hashes().join();
+            List<NewStudent> students = new ArrayList<>(hashes.size());
+            for (int i = 0; i < hashes.size(); i++) {
+                CreateUserRequest request = chunk.candidates().get(i).request();
+                students.add(new NewStudent(request.getEmail(), hashes.get(i), request.getEmail().split("@")[0],
+                        request.getFirstName(), request.getLastName()));
+            }
+            ids = new TransactionTemplate(transactionManager).execute(status -> {
+                Map<String, Long> inserted = userImportRepository.insertStudents(students);
+                if (!inserted.isEmpty()) {
+                    eventPublisher.publishEvent(StatsDeltaEvent.usersAdded(User.Role.STUDENT, true, inserted.size()));
+                    progressTrackingService.initializeUserProgress(new ArrayList<>(inserted.values()));
+                }
+                return inserted;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Student import chunk of {} rows failed", chunk.candidates().size(), e);
+            for (Candidate candidate : chunk.candidates()) {
+                response.add(new StudentImportRowResult(candidate.row(), candidate.request().getEmail(), Status.FAILED, null, "Import failed"));
+            }
+            return;
+        }
+        for (Candidate candidate : chunk.candidates()) {
+            String email = candidate.request().getEmail();
+            Long id = ids.get(email);
+            if (id == null) {
+                // Registered by someone else between the check and the insert
+                response.add(new StudentImportRowResult(candidate.row(), email, Status.DUPLICATE, null, "Email already in use"));
+            } else {
+                emailFilter.put(email);
+                response.add(new StudentImportRowResult(candidate.row(), email, Status.CREATED, id, null));
+            }
+        }
+    }
+
+    private static String validate(CreateUserRequest request) {
+        if (request == null || request.getEmail() == null || !EMAIL.matcher(request.getEmail().trim()).matches()) {
+            return "Invalid email";
+        }
+        if (request.getPassword() == null || request.getPassword().isBlank()) {
+            return "Password is required";
+        }
+        if (tooLong(request.getEmail()) || tooLong(request.getFirstName()) || tooLong(request.getLastName())) {
+            return "Fields are limited to " + MAX_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_LENGTH;
+    }
+
+    private static String field(List<String> record, Integer column) {
+        if (column == null || column >= record.size()) {
+            return null;
+        }
+        String value = record.get(column);
+        return value.isEmpty() ? null : value;
+    }
+}
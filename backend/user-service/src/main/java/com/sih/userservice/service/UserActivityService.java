@@ -0,0 +1,148 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.dto.UserActivityResponse;
+import com.sih.userservice.dto.WeeklyPointsResponse;
+import com.sih.userservice.entity.ActivityYear;
+import com.sih.userservice.repository.UserActivityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Daily activity history: which days a user made progress and how many completion points each day brought.
+ * Writes touch one user_activity row per user and year; reads load the user's few rows and answer streak
+ * and range questions on the day bitmaps.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserActivityService {
+
+    private static final int MAX_RANGE_DAYS = 3 * 366;
+
+    private final UserActivityRepository userActivityRepository;
+
+    // Joins the caller's transaction; updateProgress marks its day in UserProgressRepository.incrementLessons instead
+    public void recordActivity(Long userId, LocalDate day) {
+        userActivityRepository.markActive(userId, day.getYear(), day.getDayOfYear() - 1);
+    }
+
+    // Joins the caller's transaction (a reward worker batch)
+    public void recordPoints(Map<Long, Map<LocalDate, Integer>> pointsByUserAndDay) {
+        Map<UserActivityRepository.UserYear, Map<LocalDate, Integer>> byYear = new TreeMap<>(
+                Comparator.comparing(UserActivityRepository.UserYear::userId).thenComparingInt(UserActivityRepository.UserYear::year));
+        pointsByUserAndDay.forEach((userId, byDay) -> byDay.forEach((day, points) -> byYear
+                .computeIfAbsent(new UserActivityRepository.UserYear(userId, day.getYear()), key -> new HashMap<>())
+                .merge(day, points, Integer::sum)));
+        Map<UserActivityRepository.UserYear, ActivityYear> years = userActivityRepository.lockYears(byYear.keySet());
+        years.forEach((key, year) -> byYear.get(key).forEach((day, points) -> year.addPoints(day.getDayOfYear() - 1, points)));
+        userActivityRepository.updateYears(years);
+    }
+
+    @Transactional(readOnly = true)
+    public UserActivityResponse getActivity(Long userId, LocalDate from, LocalDate to, LocalDate today) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Activity range must be between 1 and " + MAX_RANGE_DAYS + " days");
+        }
+        Map<Integer, ActivityYear> years = new LinkedHashMap<>();
+        for (ActivityYear year : userActivityRepository.findByUserId(userId)) {
+            years.put(year.year(), year);
+        }
+
+        UserActivityResponse response = new UserActivityResponse();
+        response.setFrom(from.toString());
+        response.setTo(to.toString());
+        response.setCurrentStreak(currentStreak(years, today));
+        response.setLongestStreak(longestStreak(years));
+
+        int activeDays = 0;
+        List<String> activeDates = new ArrayList<>();
+        Map<LocalDate, Integer> pointsByWeek = new LinkedHashMap<>();
+        for (LocalDate week = weekStart(from); !week.isAfter(to); week = week.plusWeeks(1)) {
+            pointsByWeek.put(week, 0);
+        }
+        for (int y = from.getYear(); y <= to.getYear(); y++) {
+            ActivityYear year = years.get(y);
+            if (year == null) {
+                continue;
+            }
+            int fromIndex = y == from.getYear() ? from.getDayOfYear() - 1 : 0;
+            int toIndex = y == to.getYear() ? to.getDayOfYear() : year.length();
+            activeDays += year.activeDays(fromIndex, toIndex);
+            LocalDate firstDay = LocalDate.ofYearDay(y, 1);
+            for (int day = year.nextActiveDay(fromIndex); day >= 0 && day < toIndex; day = year.nextActiveDay(day + 1)) {
+                activeDates.add(firstDay.plusDays(day).toString());
+            }
+            year.forEachPoints((day, points) -> {
+                if (day >= fromIndex && day < toIndex) {
+                    pointsByWeek.merge(weekStart(firstDay.plusDays(day)), points, Integer::sum);
+                }
+            });
+        }
+        response.setActiveDays(activeDays);
+        response.setActiveDates(activeDates);
+        response.setPointsByWeek(pointsByWeek.entrySet().stream()
+                .map(e -> new WeeklyPointsResponse(e.getKey().toString(), e.getValue()))
+                .toList());
+        return response;
+    }
+
+    // Run of active days ending today, or yesterday while today has no activity yet
+    private static int currentStreak(Map<Integer, ActivityYear> years, LocalDate today) {
+        int streak = runEndingAt(years, today);
+        return streak > 0 ? streak : runEndingAt(years, today.minusDays(1));
+    }
+
+    private static int runEndingAt(Map<Integer, ActivityYear> years, LocalDate day) {
+        int run = 0;
+        ActivityYear year = years.get(day.getYear());
+        int dayIndex = day.getDayOfYear() - 1;
+        while (year != null) {
+            int yearRun = year.runEndingAt(dayIndex);
+            run += yearRun;
+            if (yearRun <= dayIndex) {
+                break;
+            }
+            // Reached 1 January: continue from 31 December of the year before
+            year = years.get(year.year() - 1);
+            dayIndex = year == null ? 0 : year.length() - 1;
+        }
+        return run;
+    }
+
+    private static int longestStreak(Map<Integer, ActivityYear> years) {
+        int longest = 0;
+        int carried = 0;
+        Integer previousYear = null;
+        for (ActivityYear year : years.values()) {
+            if (previousYear == null || year.year() != previousYear + 1) {
+                carried = 0;
+            }
+            int leading = year.leadingRun();
+            if (leading == year.length()) {
+                carried += leading;
+                longest = Math.max(longest, carried);
+            } else {
+                longest = Math.max(longest, Math.max(carried + leading, year.longestRun()));
+                carried = year.runEndingAt(year.length() - 1);
+            }
+            previousYear = year.year();
+        }
+        return longest;
+    }
+
+    private static LocalDate weekStart(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
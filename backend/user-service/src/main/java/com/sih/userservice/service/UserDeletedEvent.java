@@ -0,0 +1,7 @@
+package com.sih.userservice.service;
+
+/**
+ * A user deleted by an admin, published inside the deleting transaction.
+ */
+public record UserDeletedEvent(Long userId) {
+}
@@ -0,0 +1,236 @@
+package com.sih.userservice.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+/**
+ * Admin exports of users, progress and achievements. Rows are read through a server-side cursor (fetch size inside a
+ * read-only transaction) with plain JDBC, so no entities are loaded, and written to the stream as they arrive: memory
+ * use does not depend on the number of rows.
+ */
+@Service
+public class UserExportService {
+
+    public enum Dataset {
+        // No password hashes
+        USERS("users", "SELECT id, email, username, first_name, last_name, role, enabled FROM users ORDER BY id"),
+        PROGRESS("progress", "SELECT progress_id, user_id, path_id, lessons_completed, progress_percentage, status, "
+                + "completion_rewarded, created_at, updated_at FROM user_progress ORDER BY progress_id"),
+        ACHIEVEMENTS("achievements", "SELECT achievement_id, user_id, points_earned, certificates_earned, level, streak, "
+                + "last_active_date, total_paths, completed_paths, created_at, last_updated FROM user_achievements "
+                + "ORDER BY achievement_id");
+
+        private final String name;
+        private final String sql;
+
+        Dataset(String name, String sql) {
+            this.name = name;
+            this.sql = sql;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public static Dataset fromName(String name) {
+            return Arrays.stream(values()).filter(d -> d.name.equalsIgnoreCase(name)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown export " + name));
+        }
+    }
+
+    public enum Format {
+        CSV("csv", "text/csv"),
+        NDJSON("ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Format fromName(String name) {
+            return Arrays.stream(values()).filter(f -> f.extension.equalsIgnoreCase(name)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown format " + name));
+        }
+    }
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate cursorTransaction;
+
+    public UserExportService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        // On the primary: a long scan on a standby can be cancelled by a recovery conflict after the 200 went out
+        this.cursorTransaction = new TransactionTemplate(transactionManager);
+        this.cursorTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes the whole dataset to {@code out} and returns the number of rows. The transaction is only there because
+     * the Postgres driver uses a cursor only outside auto-commit.
+     */
+    public long export(Dataset dataset, Format format, OutputStream out) throws IOException {
+        RowWriter writer = format == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(out);
+        try {
+            return cursorTransaction.execute(status -> cursorTemplate.query(dataset.sql, (ResultSetExtractor<Long>) rs -> {
+                try {
+                    writer.start(rs.getMetaData());
+                    long rows = 0;
+                    while (rs.next()) {
+                        writer.row(rs);
+                        rows++;
+                    }
+                    writer.finish();
+                    return rows;
+                } catch (IOException e) {
+                    // Typically the client went away; stop reading
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface RowWriter {
+        void start(ResultSetMetaData metadata) throws IOException, SQLException;
+
+        void row(ResultSet rs) throws IOException, SQLException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvWriter implements RowWriter {
+
+        private final Writer writer;
+        private int columns;
+
+        CsvWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public void start(ResultSetMetaData metadata) throws IOException, SQLException {
+            columns = metadata.getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                field(metadata.getColumnLabel(i), i);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet rs) throws IOException, SQLException {
+            for (int i = 1; i <= columns; i++) {
+                field(rs.getString(i), i);
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180: quote fields containing a delimiter, quote or line break; null is an empty field
+        private void field(String value, int column) throws IOException {
+            if (column > 1) {
+                writer.write(',');
+            }
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class NdjsonWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private String[] names;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = JSON.createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start(ResultSetMetaData metadata) throws SQLException {
+            names = new String[metadata.getColumnCount()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = metadata.getColumnLabel(i + 1);
+            }
+        }
+
+        @Override
+        public void row(ResultSet rs) throws IOException, SQLException {
+            generator.writeStartObject();
+            for (int i = 0; i < names.length; i++) {
+                generator.writeFieldName(names[i]);
+                writeValue(rs.getObject(i + 1));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeValue(Object value) throws IOException {
+            switch (value) {
+                case null -> generator.writeNull();
+                case Integer number -> generator.writeNumber(number);
+                case Long number -> generator.writeNumber(number);
+                case Double number -> generator.writeNumber(number);
+                case BigDecimal number -> generator.writeNumber(number);
+                case Boolean bool -> generator.writeBoolean(bool);
+                // ISO-8601 local date-time, as the REST DTOs serialize LocalDateTime
+                case Timestamp timestamp -> generator.writeString(timestamp.toLocalDateTime().toString());
+                default -> generator.writeString(value.toString());
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -1,41 +1,54 @@
 package com.sih.userservice.service;
 
 import com.sih.userservice.dto.CreateUserRequest;
+import com.sih.userservice.dto.UserPageResponse;
 import com.sih.userservice.dto.UserResponse;
 import com.sih.userservice.entity.User;
 import com.sih.userservice.entity.User.Role;
 import com.sih.userservice.repository.UserRepository;
+import com.sih.userservice.repository.UserSearchRepository;
+import com.sih.userservice.security.PasswordHashingExecutor;
+import com.sih.userservice.security.PasswordHashingRejectedException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.util.List;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserSearchRepository userSearchRepository;
+    private final PasswordHashingExecutor passwordHashing;
+    private final EmailBloomFilter emailFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserResponse createStudent(CreateUserRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already in use");
-        }
+        ensureEmailAvailable(request.getEmail());
         User user = new User();
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashing.encode(request.getPassword()));
         user.setUsername(request.getEmail().split("@")[0]);
         user.setRole(Role.STUDENT);
         user.setEnabled(true); // students via signup are enabled
 
-        return mapToResponse(userRepository.save(user));
+        return mapToResponse(insert(user));
     }
 
     public UserResponse createByAdmin(CreateUserRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already in use");
-        }
+        ensureEmailAvailable(request.getEmail());
         // Admin can create any role, including STUDENT
 
 
@@ -43,12 +56,12 @@ public class UserService {
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashing.encode(request.getPassword()));
         user.setUsername(request.getEmail().split("@")[0]);
         user.setRole(Role.valueOf(request.getRole()));
         user.setEnabled(true); // admin-created accounts are enabled
 
-        return mapToResponse(userRepository.save(user));
+        return mapToResponse(insert(user));
     }
 
     public UserResponse createWithRole(CreateUserRequest request) {
@@ -61,44 +74,127 @@ public class UserService {
             return createStudent(request);
         }
         // Signup flow for non-students (TEACHER, AMBASSADOR): enabled=false
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already in use");
-        }
+        ensureEmailAvailable(request.getEmail());
         User user = new User();
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashing.encode(request.getPassword()));
         user.setUsername(request.getEmail().split("@")[0]);
         user.setRole(Role.valueOf(normalized));
         user.setEnabled(false);
-        return mapToResponse(userRepository.save(user));
+        return mapToResponse(insert(user));
+    }
+
+    // Fails fast before bcrypt for known emails; a "definitely new" answer from the filter skips the query
+    private void ensureEmailAvailable(String email) {
+        if (emailFilter.mightContain(email)) {
+            if (userRepository.existsByEmail(email)) {
+                throw new EmailAlreadyInUseException();
+            }
+            emailFilter.recordFalsePositive();
+        }
+    }
+
+    // The unique constraint on users.email is the real guard; ids come from a sequence, so the only
+    // unique key an insert can collide on is the email
+    private User insert(User user) {
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                throw new EmailAlreadyInUseException();
+            }
+            throw e;
+        }
+        emailFilter.put(saved.getEmail());
+        eventPublisher.publishEvent(StatsDeltaEvent.usersAdded(saved.getRole(), saved.isEnabled(), 1));
+        return saved;
+    }
+
+    private static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return true;
+            }
+            // Batched inserts surface as a BatchUpdateException carrying the server's SQLSTATE
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public UserResponse enableUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        boolean wasPending = !user.isEnabled();
         user.setEnabled(true);
-        return mapToResponse(userRepository.save(user));
+        UserResponse response = mapToResponse(userRepository.save(user));
+        if (wasPending) {
+            eventPublisher.publishEvent(StatsDeltaEvent.userApproved());
+        }
+        return response;
+    }
+
+    // Unknown ids are ignored, as deleteById does
+    @Transactional
+    public void deleteUser(Long userId) {
+        userRepository.findById(userId).ifPresent(user -> {
+            userRepository.delete(user);
+            eventPublisher.publishEvent(StatsDeltaEvent.userRemoved(user.getRole(), user.isEnabled()));
+            eventPublisher.publishEvent(new UserDeletedEvent(userId));
+        });
     }
 
     public UserResponse validateUser(String email, String rawPassword) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+        if (!passwordHashing.matches(rawPassword, user.getPassword())) {
             throw new RuntimeException("Invalid email or password");
         }
+        if (passwordHashing.needsRehash(user.getPassword())) {
+            rehash(user, rawPassword);
+        }
 
         return mapToResponse(user);
     }
 
+    private void rehash(User user, String rawPassword) {
+        try {
+            String rehashed = passwordHashing.encode(rawPassword);
+            if (userRepository.replacePasswordHash(user.getId(), user.getPassword(), rehashed) == 1) {
+                user.setPassword(rehashed);
+            }
+        } catch (PasswordHashingRejectedException e) {
+            // The login already succeeded; try again on a later login
+            log.debug("Skipped password rehash for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
     public UserResponse getByEmail(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return mapToResponse(user);
     }
 
+    /**
+     * One page of users matching the filters, ordered by id. Fetches one extra row to know whether
+     * another page exists, so no count query is needed.
+     */
+    public UserPageResponse searchUsers(String query, Role role, Boolean enabled, Long afterId, int limit) {
+        List<UserResponse> users = userSearchRepository.search(query, role, enabled, afterId, limit + 1);
+        if (users.size() <= limit) {
+            return new UserPageResponse(users, null);
+        }
+        List<UserResponse> page = users.subList(0, limit);
+        return new UserPageResponse(page, page.get(limit - 1).getId());
+    }
+
     private UserResponse mapToResponse(User user) {
         UserResponse res = new UserResponse();
         res.setId(user.getId());
@@ -0,0 +1,15 @@
+-- Completion rewards the workers could not apply (RewardOutboxProcessor), e.g. for a user without an
+-- achievements row. They are moved here in the batch transaction instead of being deleted with the rest of
+-- the batch; once the cause is fixed they can be queued again with
+--   INSERT INTO reward_outbox (event_id, user_id, path_id, points, created_at)
+--   SELECT event_id, user_id, path_id, points, created_at FROM reward_dead_letter WHERE ...
+CREATE TABLE reward_dead_letter (
+    event_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    path_id bigint NOT NULL,
+    points integer NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    reason varchar(255) NOT NULL,
+    dead_lettered_at timestamp(6) NOT NULL,
+    PRIMARY KEY (event_id)
+);
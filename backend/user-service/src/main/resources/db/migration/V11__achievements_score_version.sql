@@ -0,0 +1,3 @@
+-- Counts the writes to points_earned and level. Writes to one row are serialized by its row lock, so the
+-- counter orders them; the in-memory leaderboard uses it to drop score events that arrive out of order.
+ALTER TABLE user_achievements ADD COLUMN score_version bigint NOT NULL DEFAULT 0;
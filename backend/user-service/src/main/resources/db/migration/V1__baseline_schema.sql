@@ -0,0 +1,59 @@
+-- The original schema, exactly as ddl-auto=update created it from the entities before migrations took over:
+-- IDENTITY ids, Hibernate's column order and constraint names. Existing databases have no history table;
+-- they are baselined at this version and skip it, and every later change is a migration of its own.
+
+CREATE TABLE learning_paths (
+    path_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    bg_color varchar(255) NOT NULL,
+    color varchar(255) NOT NULL,
+    description varchar(255) NOT NULL,
+    icon varchar(255) NOT NULL,
+    is_active boolean NOT NULL,
+    sort_order integer NOT NULL,
+    title varchar(255) NOT NULL,
+    total_lessons integer NOT NULL,
+    PRIMARY KEY (path_id)
+);
+
+CREATE TABLE users (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    email varchar(255) NOT NULL,
+    enabled boolean NOT NULL,
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255) NOT NULL,
+    role varchar(255) CHECK (role IN ('STUDENT', 'TEACHER', 'AMBASSADOR', 'ADMIN')),
+    username varchar(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE user_achievements (
+    achievement_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    certificates_earned integer NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    last_active_date varchar(255) NOT NULL,
+    last_updated timestamp(6) NOT NULL,
+    level integer NOT NULL,
+    points_earned integer NOT NULL,
+    streak integer NOT NULL,
+    user_id bigint NOT NULL,
+    PRIMARY KEY (achievement_id),
+    CONSTRAINT ukadf9oxosyeo450lpqy7j9174m UNIQUE (user_id),
+    CONSTRAINT fk6vt5fpu0uta41vny1x6vpk45k FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE user_progress (
+    progress_id bigint GENERATED BY DEFAULT AS IDENTITY,
+    created_at timestamp(6) NOT NULL,
+    lessons_completed integer NOT NULL,
+    progress_percentage float(53) NOT NULL,
+    status varchar(255) NOT NULL CHECK (status IN ('NOT_STARTED', 'IN_PROGRESS', 'COMPLETED')),
+    updated_at timestamp(6) NOT NULL,
+    path_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    PRIMARY KEY (progress_id),
+    CONSTRAINT ukp0hqsdexnnuc0l2927i2an0he UNIQUE (user_id, path_id),
+    CONSTRAINT fkoihx8hjnoarj8laspeepwaxfb FOREIGN KEY (path_id) REFERENCES learning_paths,
+    CONSTRAINT fkrt37sneeps21829cuqetjm5ye FOREIGN KEY (user_id) REFERENCES users
+);
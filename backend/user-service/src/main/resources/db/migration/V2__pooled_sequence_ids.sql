@@ -0,0 +1,23 @@
+-- Moves the IDENTITY primary keys onto the pooled sequences the entities use (allocationSize 50), so Hibernate
+-- can batch inserts. Existing rows and ids are kept: each sequence starts past the current max id, so the
+-- first block Hibernate takes (the 50 ids up to the value it draws) is clear of every existing row.
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+CREATE SEQUENCE learning_paths_seq INCREMENT BY 50;
+CREATE SEQUENCE user_progress_seq INCREMENT BY 50;
+CREATE SEQUENCE user_achievements_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50) FROM users;
+SELECT setval('learning_paths_seq', COALESCE(MAX(path_id), 0) + 50) FROM learning_paths;
+SELECT setval('user_progress_seq', COALESCE(MAX(progress_id), 0) + 50) FROM user_progress;
+SELECT setval('user_achievements_seq', COALESCE(MAX(achievement_id), 0) + 50) FROM user_achievements;
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE learning_paths ALTER COLUMN path_id DROP IDENTITY;
+ALTER TABLE user_progress ALTER COLUMN progress_id DROP IDENTITY;
+ALTER TABLE user_achievements ALTER COLUMN achievement_id DROP IDENTITY;
+
+-- Native set-based inserts (progress seeding, student import) take their ids straight from the same sequences
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE learning_paths ALTER COLUMN path_id SET DEFAULT nextval('learning_paths_seq');
+ALTER TABLE user_progress ALTER COLUMN progress_id SET DEFAULT nextval('user_progress_seq');
+ALTER TABLE user_achievements ALTER COLUMN achievement_id SET DEFAULT nextval('user_achievements_seq');
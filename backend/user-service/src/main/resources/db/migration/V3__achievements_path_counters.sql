@@ -0,0 +1,4 @@
+-- Denormalized path counters behind /api/progress/stats. Null until first reconciled for the user; until then
+-- the stats are counted from user_progress.
+ALTER TABLE user_achievements ADD COLUMN total_paths integer;
+ALTER TABLE user_achievements ADD COLUMN completed_paths integer;
@@ -0,0 +1,4 @@
+-- The completion reward is due only for the update that first completes a path. Paths completed before this
+-- migration were rewarded when they completed.
+ALTER TABLE user_progress ADD COLUMN completion_rewarded boolean NOT NULL DEFAULT false;
+UPDATE user_progress SET completion_rewarded = true WHERE status = 'COMPLETED';
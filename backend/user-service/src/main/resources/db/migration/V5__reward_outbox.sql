@@ -0,0 +1,12 @@
+-- Completion rewards waiting for the workers (RewardOutboxProcessor); written in the transaction that
+-- completes the path
+CREATE SEQUENCE reward_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE reward_outbox (
+    event_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    path_id bigint NOT NULL,
+    points integer NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    PRIMARY KEY (event_id)
+);
@@ -0,0 +1,17 @@
+-- Admin user listing and search (UserSearchRepository)
+
+-- Pending approvals, paged by id
+CREATE INDEX idx_users_pending_id ON users (id) WHERE enabled = false;
+
+-- Role filter, paged by id
+CREATE INDEX idx_users_role_id ON users (role, id);
+
+-- Prefix search (short queries)
+CREATE INDEX idx_users_email_prefix ON users (lower(email) text_pattern_ops);
+CREATE INDEX idx_users_username_prefix ON users (lower(username) text_pattern_ops);
+
+-- Substring search (3+ characters); the expression must stay identical to UserSearchRepository.SEARCH_TEXT
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_users_search_trgm ON users USING gin (
+    (lower(email || ' ' || username || ' ' || coalesce(first_name, '') || ' ' || coalesce(last_name, ''))) gin_trgm_ops
+);
@@ -0,0 +1,13 @@
+-- Indexes behind the per-request queries that still scanned.
+
+-- countCompletedPathsByUserId: user_id alone goes through the (user_id, path_id) key and then filters
+-- every row on status; with status in the key the count is answered from the index
+CREATE INDEX idx_user_progress_user_status ON user_progress (user_id, status);
+
+-- findAllActivePaths and the progress seeding join: active paths already in sort order
+CREATE INDEX idx_learning_paths_active_sort ON learning_paths (is_active, sort_order);
+
+-- lower(email) lookups (prefix search, UserSearchRepository) are served by the plain idx_users_email_prefix
+-- from V6. Email matching stays exact, so no case-insensitive unique index.
+
+-- Pending users are served by idx_users_pending_id (V6); no separate index on users.enabled.
@@ -0,0 +1,13 @@
+-- Daily activity history behind streaks, the calendar heatmap and points over time (UserActivityRepository).
+-- One row per user and calendar year:
+--   days   bit (day of year - 1) set on every day the user made progress; 46 bytes cover a leap year
+--   points completion points by day, as (varint days since the previous entry, varint points) pairs in day order
+-- History starts with this migration; earlier activity is only summarized in user_achievements.
+CREATE TABLE user_activity (
+    user_id bigint NOT NULL,
+    year smallint NOT NULL,
+    days bytea NOT NULL,
+    points bytea NOT NULL DEFAULT '\x',
+    PRIMARY KEY (user_id, year),
+    CONSTRAINT fk_user_activity_user FOREIGN KEY (user_id) REFERENCES users ON DELETE CASCADE
+);
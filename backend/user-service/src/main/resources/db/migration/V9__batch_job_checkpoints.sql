@@ -0,0 +1,23 @@
+-- Checkpoints of chunked batch jobs (BatchJobRepository). A run is planned once as key ranges over the
+-- table it processes; each chunk is marked completed in the transaction that processed it, so a restarted
+-- or second instance picks up exactly the chunks that are still pending.
+CREATE TABLE batch_job_run (
+    job_name varchar(100) NOT NULL,
+    run_date date NOT NULL,
+    started_at timestamp(6) NOT NULL,
+    finished_at timestamp(6),
+    PRIMARY KEY (job_name, run_date)
+);
+
+-- Keys in (after_key, last_key]
+CREATE TABLE batch_job_chunk (
+    job_name varchar(100) NOT NULL,
+    run_date date NOT NULL,
+    after_key bigint NOT NULL,
+    last_key bigint NOT NULL,
+    planned_rows integer NOT NULL,
+    rows_updated integer,
+    completed_at timestamp(6),
+    PRIMARY KEY (job_name, run_date, after_key),
+    CONSTRAINT fk_batch_job_chunk_run FOREIGN KEY (job_name, run_date) REFERENCES batch_job_run ON DELETE CASCADE
+);
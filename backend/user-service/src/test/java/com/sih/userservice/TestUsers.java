@@ -0,0 +1,62 @@
+package com.sih.userservice;
+
+import com.sih.userservice.entity.User;
+import com.sih.userservice.repository.UserRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Students for tests against the shared database, and the cleanup that removes them with every row that
+ * references them.
+ */
+public final class TestUsers {
+
+    // Everything keyed by user_id, removed before the users themselves
+    private static final List<String> USER_TABLES = List.of(
+            "reward_dead_letter", "reward_outbox", "user_activity", "user_progress", "user_achievements");
+
+    private TestUsers() {
+    }
+
+    /**
+     * An unsaved student with a unique email, so runs never collide with leftovers of earlier ones.
+     */
+    public static User student(String name) {
+        return student(name + "-" + System.nanoTime() + "@test.local", name);
+    }
+
+    public static User student(String email, String username) {
+        User user = new User();
+        user.setEmail(email);
+        user.setUsername(username);
+        user.setPassword("x");
+        user.setRole(User.Role.STUDENT);
+        return user;
+    }
+
+    public static Long create(UserRepository userRepository, String name) {
+        return userRepository.save(student(name)).getId();
+    }
+
+    public static void deleteUserData(JdbcTemplate jdbcTemplate, Long... userIds) {
+        deleteUserData(jdbcTemplate, List.of(userIds));
+    }
+
+    public static void deleteUserData(JdbcTemplate jdbcTemplate, Collection<Long> userIds) {
+        Long[] ids = userIds.toArray(Long[]::new);
+        for (String table : USER_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ANY(?)", (Object) ids);
+        }
+        jdbcTemplate.update("DELETE FROM users WHERE id = ANY(?)", (Object) ids);
+    }
+
+    public static void deleteUsersByEmailPrefix(JdbcTemplate jdbcTemplate, String emailPrefix) {
+        for (String table : USER_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)",
+                    emailPrefix + "%");
+        }
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", emailPrefix + "%");
+    }
+}
@@ -0,0 +1,139 @@
+package com.sih.userservice.benchmark;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.entity.ActivityYear;
+import com.sih.userservice.service.UserActivityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage and read latency of the user_activity bitmaps with one row per user for last year and one for this
+ * year so far, every user active on about 40% of days. The row-per-day layout it replaces is measured on a
+ * sample of users expanded from the same bitmaps. Run with
+ * {@code mvn test -Dtest=ActivityStoreBenchmark -Dbenchmark=true [-Dactivity.users=1000000]}.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.com.sih.userservice=INFO"})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ActivityStoreBenchmark {
+
+    private static final String EMAIL_PREFIX = "activity-bench-";
+    private static final int SAMPLE_USERS = 10_000;
+    private static final int QUERIES = 10_000;
+    private static final int INSERT_CHUNK = 5_000;
+
+    @Autowired
+    private UserActivityService userActivityService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS activity_days_bench");
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void storageAndQueryLatency() {
+        int users = Integer.getInteger("activity.users", 1_000_000);
+        LocalDate today = LocalDate.now();
+        List<Long> userIds = jdbcTemplate.queryForList("INSERT INTO users (email, password, username, role, enabled) "
+                + "SELECT ? || g || '@bench.local', 'x', 'activity-bench-' || g, 'STUDENT', true "
+                + "FROM generate_series(1, ?) g RETURNING id", Long.class, EMAIL_PREFIX, users);
+
+        long seedStart = System.nanoTime();
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(INSERT_CHUNK * 2);
+        for (Long userId : userIds) {
+            rows.add(row(userId, randomYear(random, today.getYear() - 1, LocalDate.of(today.getYear() - 1, 12, 31))));
+            rows.add(row(userId, randomYear(random, today.getYear(), today)));
+            if (rows.size() >= INSERT_CHUNK * 2) {
+                insert(rows);
+            }
+        }
+        insert(rows);
+        jdbcTemplate.execute("ANALYZE user_activity");
+        System.out.printf("seeded %,d users in %,d s%n", users, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStart));
+
+        long rowCount = jdbcTemplate.queryForObject("SELECT count(*) FROM user_activity", Long.class);
+        long bitmapBytes = jdbcTemplate.queryForObject("SELECT pg_total_relation_size('user_activity')", Long.class);
+
+        // The row-per-day alternative, expanded from the first SAMPLE_USERS users' bitmaps
+        List<Long> sample = userIds.subList(0, Math.min(SAMPLE_USERS, users));
+        jdbcTemplate.execute("CREATE TABLE activity_days_bench (user_id bigint NOT NULL, day date NOT NULL, "
+                + "points integer NOT NULL, PRIMARY KEY (user_id, day))");
+        jdbcTemplate.update("INSERT INTO activity_days_bench SELECT a.user_id, make_date(a.year, 1, 1) + i, 0 "
+                + "FROM user_activity a CROSS JOIN generate_series(0, 365) i "
+                + "WHERE a.user_id BETWEEN ? AND ? AND i < length(a.days) * 8 AND get_bit(a.days, i) = 1",
+                sample.get(0), sample.get(sample.size() - 1));
+        jdbcTemplate.execute("ANALYZE activity_days_bench");
+        long sampleRows = jdbcTemplate.queryForObject("SELECT count(*) FROM activity_days_bench", Long.class);
+        long sampleBytes = jdbcTemplate.queryForObject("SELECT pg_total_relation_size('activity_days_bench')", Long.class);
+
+        System.out.printf("bitmaps:     %,d rows, %,d MB, %,d bytes per user%n",
+                rowCount, bitmapBytes >> 20, bitmapBytes / users);
+        System.out.printf("row per day: %,d rows for %,d users, %,d bytes per user (%,d MB extrapolated to %,d users)%n",
+                sampleRows, sample.size(), sampleBytes / sample.size(), (sampleBytes / sample.size() * users) >> 20, users);
+
+        LocalDate from = today.minusWeeks(52).plusDays(1);
+        long[] bitmap = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            Long userId = userIds.get(random.nextInt(users));
+            long start = System.nanoTime();
+            userActivityService.getActivity(userId, from, today, today);
+            bitmap[i] = System.nanoTime() - start;
+        }
+        long[] scan = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            Long userId = sample.get(random.nextInt(sample.size()));
+            long start = System.nanoTime();
+            // What the same answer needs from a row per day: the whole history, for the streaks
+            jdbcTemplate.query("SELECT day, points FROM activity_days_bench WHERE user_id = ? ORDER BY day",
+                    rs -> { }, userId);
+            scan[i] = System.nanoTime() - start;
+        }
+        System.out.printf("getActivity (52 weeks + streaks) over %,d users: p50 %.2f ms, p99 %.2f ms%n",
+                users, percentile(bitmap, 50), percentile(bitmap, 99));
+        System.out.printf("row-per-day history fetch over %,d users: p50 %.2f ms, p99 %.2f ms%n",
+                sample.size(), percentile(scan, 50), percentile(scan, 99));
+    }
+
+    private static ActivityYear randomYear(Random random, int year, LocalDate last) {
+        ActivityYear activity = ActivityYear.empty(year);
+        for (int day = 0; day < last.getDayOfYear(); day++) {
+            if (random.nextInt(100) < 40) {
+                activity.markActive(day);
+                if (random.nextInt(100) < 15) {
+                    activity.addPoints(day, 50);
+                }
+            }
+        }
+        return activity;
+    }
+
+    private static Object[] row(Long userId, ActivityYear year) {
+        return new Object[]{userId, year.year(), year.daysBytes(), year.pointsBytes()};
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO user_activity (user_id, year, days, points) VALUES (?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private static double percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.sih.userservice.benchmark;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.repository.AdminStatsRepository;
+import com.sih.userservice.service.AdminStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+/**
+ * Latency of GET /api/admin/stats served from the rollups against computing the same aggregates from the base
+ * tables, with users seeded with a progress row per active path. Run with
+ * {@code mvn test -Dtest=AdminStatsBenchmark -Dbenchmark=true [-Dstats.users=500000]}.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.com.sih.userservice=INFO"})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AdminStatsBenchmark {
+
+    private static final String EMAIL_PREFIX = "stats-bench-";
+    private static final int READS = 100_000;
+    private static final int SCANS = 10;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private AdminStatsRepository adminStatsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void rollupsAgainstScans() {
+        int users = Integer.getInteger("stats.users", 500_000);
+        jdbcTemplate.update("INSERT INTO users (email, password, username, role, enabled) "
+                + "SELECT ? || g || '@bench.local', 'x', 'stats-bench-' || g, "
+                + "(ARRAY['STUDENT', 'STUDENT', 'STUDENT', 'TEACHER', 'AMBASSADOR'])[1 + g % 5], g % 7 <> 0 "
+                + "FROM generate_series(1, ?) g", EMAIL_PREFIX, users);
+        jdbcTemplate.update("INSERT INTO user_progress (user_id, path_id, lessons_completed, progress_percentage, status, created_at, updated_at) "
+                + "SELECT u.id, lp.path_id, 0, (u.id % 5) * 25.0, "
+                + "CASE WHEN u.id % 5 = 4 THEN 'COMPLETED' WHEN u.id % 5 = 0 THEN 'NOT_STARTED' ELSE 'IN_PROGRESS' END, now(), now() "
+                + "FROM users u CROSS JOIN learning_paths lp WHERE u.email LIKE ? AND lp.is_active", EMAIL_PREFIX + "%");
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE user_progress");
+        adminStatsService.reconcile();
+
+        long[] rollups = new long[READS];
+        for (int i = 0; i < READS; i++) {
+            long start = System.nanoTime();
+            adminStatsService.getStats();
+            rollups[i] = System.nanoTime() - start;
+        }
+        long[] scans = new long[SCANS];
+        for (int i = 0; i < SCANS; i++) {
+            long start = System.nanoTime();
+            adminStatsRepository.computeTotals();
+            scans[i] = System.nanoTime() - start;
+        }
+        System.out.printf("rollups over %,d users: p50 %.4f ms, p99 %.4f ms%n", users, percentile(rollups, 50), percentile(rollups, 99));
+        System.out.printf("base-table scans over %,d users: p50 %.1f ms, max %.1f ms%n", users, percentile(scans, 50), percentile(scans, 100));
+    }
+
+    private static double percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1_000_000.0;
+    }
+}
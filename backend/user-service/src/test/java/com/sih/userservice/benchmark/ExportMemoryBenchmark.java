@@ -0,0 +1,93 @@
+package com.sih.userservice.benchmark;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.service.UserExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Peak heap while exporting all users as CSV, through the cursor-backed service and through the same SQL with the
+ * driver's default of buffering the whole result. Run with
+ * {@code mvn test -Dtest=ExportMemoryBenchmark -Dbenchmark=true [-Dexport.rows=1000000]}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExportMemoryBenchmark {
+
+    private static final String EMAIL_PREFIX = "export-bench-";
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void peakHeapByRowCount() throws Exception {
+        int rows = Integer.getInteger("export.rows", 500_000);
+        for (int batch : new int[]{rows / 100, rows}) {
+            cleanUp();
+            jdbcTemplate.update("INSERT INTO users (email, password, username, first_name, last_name, role, enabled) "
+                    + "SELECT ? || g || '@bench.local', 'x', 'export-bench-' || g, 'First', 'Last', 'STUDENT', true "
+                    + "FROM generate_series(1, ?) g", EMAIL_PREFIX, batch);
+            long cursor = peakHeapDuring(() -> userExportService.export(
+                    UserExportService.Dataset.USERS, UserExportService.Format.CSV, OutputStream.nullOutputStream()));
+            // No fetch size: the driver reads the whole result before the first row
+            UserExportService buffered = new UserExportService(dataSource, transactionManager, 0);
+            long buffering = peakHeapDuring(() -> buffered.export(
+                    UserExportService.Dataset.USERS, UserExportService.Format.CSV, OutputStream.nullOutputStream()));
+            System.out.printf("%,9d rows: cursor peak %,6d MB, buffered peak %,6d MB%n",
+                    batch, cursor / (1024 * 1024), buffering / (1024 * 1024));
+        }
+    }
+
+    private interface Export {
+        void run() throws Exception;
+    }
+
+    private static long peakHeapDuring(Export export) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        try {
+            export.run();
+        } finally {
+            sampler.interrupt();
+            sampler.join();
+        }
+        return peak.get() - baseline;
+    }
+}
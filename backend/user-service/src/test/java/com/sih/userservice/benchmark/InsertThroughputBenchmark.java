@@ -0,0 +1,119 @@
+package com.sih.userservice.benchmark;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.entity.LearningPath;
+import com.sih.userservice.entity.User;
+import com.sih.userservice.entity.UserProgress;
+import com.sih.userservice.repository.LearningPathRepository;
+import com.sih.userservice.repository.UserProgressRepository;
+import com.sih.userservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares single-row identity-style inserts (one round trip per row, id read back with RETURNING)
+ * against the batched sequence-id inserts the entities now use.
+ * Needs the Postgres from application.properties; run with
+ * {@code mvn test -Dtest=InsertThroughputBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsertThroughputBenchmark {
+
+    private static final int ROWS = 5_000;
+    private static final String EMAIL_PREFIX = "insert-bench-";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LearningPathRepository learningPathRepository;
+
+    @Autowired
+    private UserProgressRepository userProgressRepository;
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void bulkUserCreation() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                jdbcTemplate.queryForObject(
+                        "INSERT INTO users (id, email, password, username, role, enabled) " +
+                                "VALUES (nextval('users_seq'), ?, 'x', ?, 'STUDENT', true) RETURNING id",
+                        Long.class, EMAIL_PREFIX + "row-" + i + "@bench.local", "row-" + i);
+            }
+        });
+        report("users, row-at-a-time", ROWS, start);
+
+        start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(newUsers("batch-")));
+        report("users, batched saveAll", ROWS, start);
+    }
+
+    @Test
+    void progressSeeding() {
+        List<User> users = transactionTemplate.execute(status -> userRepository.saveAll(newUsers("seed-")));
+        List<LearningPath> paths = learningPathRepository.findAllActivePaths();
+        int half = users.size() / 2;
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (User user : users.subList(0, half)) {
+                for (LearningPath path : paths) {
+                    jdbcTemplate.queryForObject(
+                            "INSERT INTO user_progress (progress_id, user_id, path_id, lessons_completed, progress_percentage, status, created_at, updated_at) " +
+                                    "VALUES (nextval('user_progress_seq'), ?, ?, 0, 0.0, 'NOT_STARTED', now(), now()) RETURNING progress_id",
+                            Long.class, user.getId(), path.getPathId());
+                }
+            }
+        });
+        report("progress, row-at-a-time", half * paths.size(), start);
+
+        start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<UserProgress> rows = new ArrayList<>();
+            for (User user : users.subList(half, users.size())) {
+                for (LearningPath path : paths) {
+                    UserProgress progress = new UserProgress();
+                    progress.setUser(user);
+                    progress.setLearningPath(path);
+                    rows.add(progress);
+                }
+            }
+            userProgressRepository.saveAll(rows);
+        });
+        report("progress, batched saveAll", (users.size() - half) * paths.size(), start);
+    }
+
+    private List<User> newUsers(String tag) {
+        List<User> users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            users.add(TestUsers.student(EMAIL_PREFIX + tag + i + "@bench.local", tag + i));
+        }
+        return users;
+    }
+
+    private static void report(String label, int rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        System.out.printf("%-28s %8.0f rows/s (%.2fs)%n", label, rows / seconds, seconds);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sih.userservice.benchmark;
+
+import com.sih.userservice.service.ScoreRankIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Random;
+
+/**
+ * Shows that rank-of, top-N and neighborhood queries stay flat as the leaderboard grows.
+ * Pure in-memory; run with {@code mvn test -Dtest=LeaderboardRankBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LeaderboardRankBenchmark {
+
+    private static final int QUERIES = 200_000;
+
+    @Test
+    void rankQueriesScaleLogarithmically() {
+        for (int users : new int[] {10_000, 100_000, 1_000_000}) {
+            Random random = new Random(users);
+            ScoreRankIndex index = new ScoreRankIndex();
+            long start = System.nanoTime();
+            for (int userId = 0; userId < users; userId++) {
+                index.put(userId, random.nextInt(100_000));
+            }
+            double buildMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+            // Warm up, then measure each query shape
+            runRankQueries(index, users, random);
+            long rankNanos = runRankQueries(index, users, random);
+
+            start = System.nanoTime();
+            long sink = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                sink += index.range(1, 10).size();
+            }
+            long topNanos = (System.nanoTime() - start) / QUERIES;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                int rank = index.rankOf(random.nextInt(users));
+                sink += index.range(Math.max(1, rank - 5), 11).size();
+            }
+            long neighborhoodNanos = (System.nanoTime() - start) / QUERIES;
+
+            // Score updates, the incremental path taken after each reward batch
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                index.put(random.nextInt(users), random.nextInt(100_000));
+            }
+            long updateNanos = (System.nanoTime() - start) / QUERIES;
+
+            System.out.printf("%,9d users: build %7.0f ms | rankOf %5d ns | top10 %5d ns | rank+/-5 %5d ns | update %5d ns (%d)%n",
+                users, buildMillis, rankNanos, topNanos, neighborhoodNanos, updateNanos, sink % 2);
+        }
+    }
+
+    private static long runRankQueries(ScoreRankIndex index, int users, Random random) {
+        long start = System.nanoTime();
+        long sink = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            sink += index.rankOf(random.nextInt(users));
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+        return (System.nanoTime() - start) / QUERIES;
+    }
+}
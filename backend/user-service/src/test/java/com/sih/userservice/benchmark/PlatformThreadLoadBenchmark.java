@@ -0,0 +1,10 @@
+package com.sih.userservice.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=false", "spring.jpa.show-sql=false", "logging.level.com.sih.userservice=INFO"})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PlatformThreadLoadBenchmark extends ThreadModeLoadBenchmark {
+}
@@ -0,0 +1,120 @@
+package com.sih.userservice.benchmark;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.service.AchievementsChangedEvent;
+import com.sih.userservice.service.ProgressStreamService;
+import com.sih.userservice.service.ProgressTrackingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Holds one idle progress stream per user open against the embedded server, then pushes one achievements change
+ * to every user and times until all streams received it. Reports platform threads and heap per open stream.
+ * Client and server share the JVM, so both sides' sockets count against the file descriptor limit. Run with
+ * {@code mvn test -Dtest=ProgressStreamFanOutBenchmark -Dbenchmark=true [-Dstream.connections=5000]}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "logging.level.com.sih.userservice=INFO"})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProgressStreamFanOutBenchmark {
+
+    private static final String EMAIL_PREFIX = "stream-bench-";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    @Autowired
+    private ProgressStreamService progressStreamService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Stream<String>> bodies = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        bodies.forEach(Stream::close);
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void idleStreamsAndFanOut() throws Exception {
+        int connections = Integer.getInteger("stream.connections", 5000);
+        List<Long> userIds = jdbcTemplate.queryForList("INSERT INTO users (email, password, username, role, enabled) "
+                + "SELECT ? || g || '@bench.local', 'x', 'stream-bench-' || g, 'STUDENT', true "
+                + "FROM generate_series(1, ?) g RETURNING id", Long.class, EMAIL_PREFIX, connections);
+        progressTrackingService.initializeUserProgress(userIds);
+
+        System.gc();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        long heapBefore = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        HttpClient client = HttpClient.newHttpClient();
+        CountDownLatch snapshots = new CountDownLatch(connections);
+        CountDownLatch delivered = new CountDownLatch(connections);
+        long openStart = System.nanoTime();
+        for (Long userId : userIds) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/progress/stream/" + userId))
+                    .header("Accept", "text/event-stream").build();
+            HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            bodies.add(response.body());
+            Thread.ofVirtual().start(() -> {
+                try {
+                    response.body().forEach(line -> {
+                        if (line.equals("event:snapshot")) {
+                            snapshots.countDown();
+                        } else if (line.equals("event:achievements")) {
+                            delivered.countDown();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    // closed at clean-up
+                }
+            });
+        }
+        snapshots.await(5, TimeUnit.MINUTES);
+        long openMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openStart);
+
+        System.gc();
+        int threadsOpen = ManagementFactory.getThreadMXBean().getThreadCount();
+        long heapOpen = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        Map<Long, AchievementsChangedEvent.Achievements> changes = new HashMap<>();
+        userIds.forEach(userId -> changes.put(userId, new AchievementsChangedEvent.Achievements(2535, 4, 9, 8, 1)));
+        long fanOutStart = System.nanoTime();
+        eventPublisher.publishEvent(new AchievementsChangedEvent(changes));
+        boolean all = delivered.await(1, TimeUnit.MINUTES);
+        long fanOutMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fanOutStart);
+
+        System.out.printf("%,d streams (%,d open on the server) opened in %,d ms%n",
+                connections, progressStreamService.getOpenStreams(), openMillis);
+        System.out.printf("platform threads %d -> %d, heap +%,d KB (%,d bytes per stream, client side included)%n",
+                threadsBefore, threadsOpen, (heapOpen - heapBefore) / 1024, (heapOpen - heapBefore) / connections);
+        System.out.printf("one event to every stream: %,d ms%s%n", fanOutMillis, all ? "" : " (timed out)");
+    }
+}
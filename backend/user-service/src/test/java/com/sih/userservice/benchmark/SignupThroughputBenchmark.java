@@ -0,0 +1,106 @@
+package com.sih.userservice.benchmark;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.dto.CreateUserRequest;
+import com.sih.userservice.repository.UserRepository;
+import com.sih.userservice.repository.UserSearchRepository;
+import com.sih.userservice.security.PasswordHashingExecutor;
+import com.sih.userservice.service.EmailBloomFilter;
+import com.sih.userservice.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk signup throughput with the existsByEmail pre-check on every signup (filter disabled) versus
+ * the warmed email Bloom filter. bcrypt cost is dropped to 4 so the database round trips dominate.
+ * Needs the Postgres from application.properties; run with
+ * {@code mvn test -Dtest=SignupThroughputBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {"password.bcrypt.strength=4", "password.hashing.queue-capacity=1000"})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SignupThroughputBenchmark {
+
+    private static final int SIGNUPS = 5_000;
+    private static final int THREADS = 8;
+    private static final String EMAIL_PREFIX = "signup-bench-";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSearchRepository userSearchRepository;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashing;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void bulkSignup() throws Exception {
+        EmailBloomFilter disabled = new EmailBloomFilter(userRepository, transactionManager, new SimpleMeterRegistry(), false, 1, 0.01);
+        UserService withoutFilter = new UserService(userRepository, userSearchRepository, passwordHashing, disabled, eventPublisher);
+
+        run("existsByEmail pre-check", withoutFilter, "query-");
+        run("bloom filter pre-check", userService, "bloom-");
+    }
+
+    private void run(String label, UserService service, String tag) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = thread; i < SIGNUPS; i += THREADS) {
+                        service.createStudent(request(EMAIL_PREFIX + tag + i + "@bench.local"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%-28s %8.0f signups/s (%.2fs)%n", label, SIGNUPS / seconds, seconds);
+    }
+
+    private static CreateUserRequest request(String email) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setEmail(email);
+        request.setPassword("secret");
+        request.setFirstName("Bench");
+        request.setLastName("User");
+        return request;
+    }
+}
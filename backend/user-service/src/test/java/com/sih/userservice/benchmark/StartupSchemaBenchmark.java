@@ -0,0 +1,43 @@
+package com.sih.userservice.benchmark;
+
+import com.sih.userservice.UserServiceApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boot time against an up-to-date database with the old ddl-auto=update (Hibernate reads the whole catalog and
+ * diffs it on every start) versus Flyway checking its history table plus ddl-auto=validate. Each mode gets one
+ * untimed warm-up boot. Needs the Postgres from application.properties; run with
+ * {@code mvn test -Dtest=StartupSchemaBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StartupSchemaBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    @Test
+    void startupTime() {
+        run("ddl-auto=update", "--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=update");
+        run("flyway + validate", "--spring.flyway.enabled=true", "--spring.jpa.hibernate.ddl-auto=validate");
+    }
+
+    private static void run(String label, String... args) {
+        boot(args);
+        long total = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            total += boot(args);
+        }
+        System.out.printf("%-20s %6d ms per boot%n", label, total / ROUNDS / 1_000_000);
+    }
+
+    private static long boot(String... args) {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext ignored = new SpringApplicationBuilder(UserServiceApplication.class)
+                .properties("server.port=0", "logging.level.com.sih.userservice=INFO")
+                .run(args)) {
+            return System.nanoTime() - start;
+        }
+    }
+}
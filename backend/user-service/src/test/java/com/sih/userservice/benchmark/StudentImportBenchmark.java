@@ -0,0 +1,78 @@
+package com.sih.userservice.benchmark;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.dto.CreateUserRequest;
+import com.sih.userservice.dto.StudentImportResponse;
+import com.sih.userservice.service.ProgressTrackingService;
+import com.sih.userservice.service.StudentImportService;
+import com.sih.userservice.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Students per second enrolled one at a time (createByAdmin, then initialize, as the admin UI does today) against
+ * POST /users/import's pipeline, at the configured bcrypt cost. Run with
+ * {@code mvn test -Dtest=StudentImportBenchmark -Dbenchmark=true [-Dimport.rows=2000]}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StudentImportBenchmark {
+
+    private static final String EMAIL_PREFIX = "import-bench-";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void oneByOneVersusBulkImport() throws Exception {
+        int rows = Integer.getInteger("import.rows", 1000);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            CreateUserRequest request = new CreateUserRequest();
+            request.setEmail(EMAIL_PREFIX + "single-" + i + "@bench.local");
+            request.setPassword("password-" + i);
+            request.setRole("STUDENT");
+            progressTrackingService.initializeUserProgress(userService.createByAdmin(request).getId());
+        }
+        report("one by one", rows, System.nanoTime() - start);
+
+        StringBuilder csv = new StringBuilder("email,password,firstName,lastName\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(EMAIL_PREFIX).append("bulk-").append(i).append("@bench.local,password-").append(i).append(",Bulk,Student\n");
+        }
+        start = System.nanoTime();
+        StudentImportResponse response = studentImportService.importCsv(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        report("bulk import", rows, System.nanoTime() - start);
+        assertThat(response.getCreated()).isEqualTo(rows);
+    }
+
+    private static void report(String label, int rows, long nanos) {
+        System.out.printf("%-12s %,7d students in %,7d ms = %,8.1f students/s (%d CPUs)%n", label, rows, nanos / 1_000_000,
+                rows / (nanos / 1e9), Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,143 @@
+package com.sih.userservice.benchmark;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.repository.UserRepository;
+import com.sih.userservice.service.ProgressTrackingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load against GET /api/progress/user/{id} (one JPA query per request) at increasing numbers
+ * of concurrent clients. Subclasses pin the server's threading mode; compare their output.
+ * Needs the Postgres from application.properties; run with
+ * {@code mvn test -Dtest=PlatformThreadLoadBenchmark -Dbenchmark=true [-Dload.levels=1000,2500,5000,10000] [-Dload.seconds=10]},
+ * then the same with {@code -Dtest=VirtualThreadLoadBenchmark}. Run the modes in separate JVMs so neither inherits
+ * the other's JIT warm-up. Client and server share the JVM, so raise {@code ulimit -n} above twice the highest level.
+ * <p>
+ * This covers user-service alone. The login path, auth-service calling user-service to check the password, is the
+ * load-test module's {@code --mix=login:1} scenario, run once per {@code --virtual-threads} value.
+ */
+abstract class ThreadModeLoadBenchmark {
+
+    private static final String USERNAME = "thread-mode-bench";
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void seedUser() {
+        cleanUp();
+        userId = TestUsers.create(userRepository, USERNAME);
+        progressTrackingService.initializeUserProgress(userId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, USERNAME + "-");
+    }
+
+    @Test
+    void concurrentClients() throws Exception {
+        int[] levels = Arrays.stream(System.getProperty("load.levels", "1000,2500,5000,10000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        Duration duration = Duration.ofSeconds(Long.getLong("load.seconds", 10));
+        URI uri = URI.create("http://localhost:" + port + "/api/progress/user/" + userId);
+
+        // Clients are async on a few platform threads so they never compete with the server's virtual threads
+        ExecutorService clientThreads = Executors.newFixedThreadPool(4);
+        try (HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientThreads)
+                .build()) {
+            // Warm the JIT before measuring, or whichever mode runs first is penalised
+            run(http, uri, Math.min(levels[0], 200), Duration.ofSeconds(Long.getLong("load.warmup-seconds", 15)));
+            System.out.printf("%n%s threads%n%8s %10s %9s %9s %9s%n",
+                    virtualThreads ? "Virtual" : "Platform", "clients", "req/s", "p50 ms", "p99 ms", "errors");
+            for (int level : levels) {
+                Result result = run(http, uri, level, duration);
+                System.out.printf("%8d %10.0f %9.1f %9.1f %9d%n", level,
+                        result.latenciesNanos().length / (duration.toMillis() / 1000.0),
+                        percentile(result.latenciesNanos(), 0.50), percentile(result.latenciesNanos(), 0.99), result.errors());
+            }
+        } finally {
+            clientThreads.shutdown();
+        }
+    }
+
+    private record Result(long[] latenciesNanos, long errors) {
+    }
+
+    /**
+     * Closed loop: each client sends its next request as soon as the previous one completes.
+     */
+    private static Result run(HttpClient http, URI uri, int concurrency, Duration duration) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            send(http, request, deadline, latencies, errors, finished);
+        }
+        finished.await();
+        return new Result(latencies.stream().mapToLong(Long::longValue).sorted().toArray(), errors.get());
+    }
+
+    private static void send(HttpClient http, HttpRequest request, long deadline, Queue<Long> latencies,
+                             AtomicLong errors, CountDownLatch finished) {
+        long start = System.nanoTime();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure == null && response.statusCode() == 200) {
+                latencies.add(System.nanoTime() - start);
+            } else {
+                errors.incrementAndGet();
+            }
+            if (System.nanoTime() < deadline) {
+                send(http, request, deadline, latencies, errors, finished);
+            } else {
+                finished.countDown();
+            }
+        });
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
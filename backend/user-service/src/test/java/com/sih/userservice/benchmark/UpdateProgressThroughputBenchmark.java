@@ -0,0 +1,95 @@
+package com.sih.userservice.benchmark;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.dto.LearningPathResponse;
+import com.sih.userservice.dto.UpdateProgressRequest;
+import com.sih.userservice.entity.User;
+import com.sih.userservice.repository.UserRepository;
+import com.sih.userservice.service.ProgressTrackingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures updateProgress throughput with many users clicking lessons concurrently, plus the statements
+ * each update costs. Needs the Postgres from application.properties; run with
+ * {@code mvn test -Dtest=UpdateProgressThroughputBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UpdateProgressThroughputBenchmark {
+
+    private static final int USERS = 200;
+    private static final int THREADS = 32;
+    private static final long DURATION_MILLIS = 10_000;
+    private static final String EMAIL_PREFIX = "update-bench-";
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void concurrentLessonUpdates() throws InterruptedException {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(TestUsers.student(EMAIL_PREFIX + i + "@bench.local", EMAIL_PREFIX + i));
+        }
+        List<Long> userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+        progressTrackingService.initializeUserProgress(userIds);
+        List<Long> pathIds = progressTrackingService.getAllLearningPaths().stream().map(LearningPathResponse::getPathId).toList();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        AtomicLong updates = new AtomicLong();
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                UpdateProgressRequest request = new UpdateProgressRequest();
+                request.setIncrementPercent(5);
+                for (int i = thread; System.currentTimeMillis() < deadline; i += THREADS) {
+                    request.setPathId(pathIds.get(i % pathIds.size()));
+                    progressTrackingService.updateProgress(userIds.get(i % userIds.size()), request);
+                    updates.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(DURATION_MILLIS + 30_000, TimeUnit.MILLISECONDS);
+
+        double seconds = DURATION_MILLIS / 1000.0;
+        System.out.printf("updateProgress: %d updates by %d threads, %.0f updates/s, %.2f statements/update%n",
+            updates.get(), THREADS, updates.get() / seconds,
+            (double) statistics.getPrepareStatementCount() / Math.max(1, updates.get()));
+    }
+}
@@ -0,0 +1,128 @@
+package com.sih.userservice.config;
+
+import com.sih.userservice.TestUsers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sih.userservice.repository.UserRepository;
+import com.sih.userservice.service.ProgressTrackingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * The stream's opening snapshot against a real streaming standby that has stopped replaying. The lag limit is
+ * high enough to keep the paused replica in rotation for ordinary reads. Run with
+ * {@code mvn test -Dtest=ProgressStreamReplicaTest -Dreplica.url=jdbc:postgresql://localhost:5001/userdb}.
+ */
+@SpringBootTest(properties = {
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.max-lag-ms=60000",
+        "datasource.replicas.lag-check-interval-ms=100",
+        "rewards.outbox.poll-interval-ms=3600000"})
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "replica.url", matches = ".+")
+class ProgressStreamReplicaTest {
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        registry.add("datasource.replicas.urls", () -> System.getProperty("replica.url"));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Long userId;
+    private Long pathId;
+
+    @BeforeEach
+    void createUser() throws InterruptedException {
+        userId = TestUsers.create(userRepository, "progress-stream-replica");
+        progressTrackingService.initializeUserProgress(userId);
+        pathId = jdbcTemplate.queryForObject("SELECT min(path_id) FROM learning_paths WHERE is_active", Long.class);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (routing.lagMillis(0) != 0) {
+            assertThat(System.currentTimeMillis()).as("replica did not catch up").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUserData(jdbcTemplate, userId);
+    }
+
+    @Test
+    void snapshotIncludesWritesTheReplicaHasNotReplayed() throws Exception {
+        SingleConnectionDataSource replica = new SingleConnectionDataSource(
+                System.getProperty("replica.url"), "admin", "password", true);
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("SELECT pg_wal_replay_pause()");
+        try {
+            // As a reward worker or another instance would write it: nothing marks the user's reads as sticky
+            jdbcTemplate.update("UPDATE user_progress SET lessons_completed = 7 WHERE user_id = ? AND path_id = ?",
+                    userId, pathId);
+            assertThat(replicaJdbc.queryForObject("SELECT lessons_completed FROM user_progress WHERE user_id = ? AND path_id = ?",
+                    Integer.class, userId, pathId)).isZero();
+
+            JsonNode snapshot = snapshot(mockMvc.perform(get("/api/progress/stream/{userId}", userId))
+                    .andExpect(request().asyncStarted())
+                    .andReturn());
+            JsonNode path = null;
+            for (JsonNode progress : snapshot.get("progress")) {
+                if (progress.get("pathId").asLong() == pathId) {
+                    path = progress;
+                }
+            }
+            assertThat(path).isNotNull();
+            assertThat(path.get("lessonsCompleted").asInt()).isEqualTo(7);
+        } finally {
+            replicaJdbc.execute("SELECT pg_wal_replay_resume()");
+            replica.destroy();
+        }
+    }
+
+    // The snapshot is sent from the stream's own thread, in several writes: wait for the blank line ending it
+    private JsonNode snapshot(MvcResult result) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            String content = result.getResponse().getContentAsString();
+            int end = content.indexOf("\n\n");
+            if (end >= 0) {
+                for (String line : content.substring(0, end).split("\n")) {
+                    if (line.startsWith("data:")) {
+                        return objectMapper.readTree(line.substring("data:".length()));
+                    }
+                }
+            }
+            assertThat(System.currentTimeMillis()).as("no snapshot in 5000 ms").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
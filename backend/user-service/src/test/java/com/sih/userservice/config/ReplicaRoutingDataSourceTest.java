@@ -0,0 +1,120 @@
+package com.sih.userservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String SERVICE_READ = "com.sih.userservice.service.ProgressTrackingService.getUserProgress";
+    private static final String REPOSITORY_READ = "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById";
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource firstReplica = mock(DataSource.class);
+    private final DataSource secondReplica = mock(DataSource.class);
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000);
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+        routing = new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica), tracker,
+                1000, 500, "com.sih.userservice.service.", new SimpleMeterRegistry());
+        routing.updateLag(0, 0);
+        routing.updateLag(1, 200);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        TransactionSynchronizationManager.setCurrentTransactionName(null);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        tracker.unbind();
+    }
+
+    @Test
+    void serviceReadsAlternateBetweenReplicas() throws SQLException {
+        transaction(SERVICE_READ, true);
+        assertThat(List.of(routing.getConnection(), routing.getConnection(), routing.getConnection()))
+                .containsExactly(firstReplicaConnection, secondReplicaConnection, firstReplicaConnection);
+    }
+
+    @Test
+    void writesAndRepositoryDefaultsStayOnThePrimary() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        transaction(SERVICE_READ, false);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        transaction(REPOSITORY_READ, true);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void laggingReplicasAreSkippedAndAllLaggingMeansPrimary() throws SQLException {
+        transaction(SERVICE_READ, true);
+        routing.updateLag(0, 5000);
+        assertThat(List.of(routing.getConnection(), routing.getConnection()))
+                .containsOnly(secondReplicaConnection);
+
+        routing.updateLag(1, ReplicaRoutingDataSource.UNAVAILABLE);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void failingReplicaIsTakenOutOfRotationButSaturatedOneIsNot() throws SQLException {
+        transaction(SERVICE_READ, true);
+        when(firstReplica.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(secondReplica.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.lagMillis(0)).isEqualTo(ReplicaRoutingDataSource.UNAVAILABLE);
+        assertThat(routing.lagMillis(1)).isEqualTo(200);
+    }
+
+    @Test
+    void userWhoJustWroteReadsFromThePrimary() throws SQLException {
+        transaction(SERVICE_READ, true);
+        tracker.recordWrite(7L);
+
+        tracker.bind(7L);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        tracker.bind(8L);
+        assertThat(routing.getConnection()).isIn(firstReplicaConnection, secondReplicaConnection);
+    }
+
+    @Test
+    void stickinessExpires() throws SQLException {
+        ReadYourWritesTracker shortWindow = new ReadYourWritesTracker(0);
+        ReplicaRoutingDataSource shortRouting = new ReplicaRoutingDataSource(primary, List.of(firstReplica), shortWindow,
+                1000, 500, "com.sih.userservice.service.", new SimpleMeterRegistry());
+        shortRouting.updateLag(0, 0);
+        transaction(SERVICE_READ, true);
+        shortWindow.recordWrite(7L);
+        shortWindow.bind(7L);
+        try {
+            assertThat(shortRouting.getConnection()).isSameAs(firstReplicaConnection);
+        } finally {
+            shortWindow.unbind();
+        }
+    }
+
+    private static void transaction(String name, boolean readOnly) {
+        TransactionSynchronizationManager.setCurrentTransactionName(name);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
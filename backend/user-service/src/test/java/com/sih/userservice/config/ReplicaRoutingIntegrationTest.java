@@ -0,0 +1,144 @@
+package com.sih.userservice.config;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routing against a real streaming standby of the configured Postgres. Run with
+ * {@code mvn test -Dtest=ReplicaRoutingIntegrationTest -Dreplica.url=jdbc:postgresql://localhost:5001/userdb}.
+ */
+@SpringBootTest(properties = {
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.max-lag-ms=300",
+        "datasource.replicas.lag-check-interval-ms=100",
+        "rewards.outbox.poll-interval-ms=3600000"})
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "replica.url", matches = ".+")
+class ReplicaRoutingIntegrationTest {
+
+    private static final long STICKY_WINDOW_MS = 400;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        registry.add("datasource.replicas.urls", () -> System.getProperty("replica.url"));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long pathId;
+
+    @BeforeEach
+    void createUser() throws Exception {
+        userId = TestUsers.create(userRepository, "replica-routing");
+        mockMvc.perform(post("/api/progress/initialize/{userId}", userId)).andExpect(status().isOk());
+        pathId = jdbcTemplate.queryForObject("SELECT min(path_id) FROM learning_paths WHERE is_active", Long.class);
+        awaitUntil(() -> routing.lagMillis(0) == 0, 5000);
+        // The initialize call was a write by this user: wait out its read-your-writes window (max-lag + interval)
+        Thread.sleep(STICKY_WINDOW_MS);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUserData(jdbcTemplate, userId);
+    }
+
+    @Test
+    void readOnlyEndpointsAreServedByTheReplica() throws Exception {
+        double before = reads("replica-1", "replica");
+        mockMvc.perform(get("/api/progress/user/{userId}", userId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/progress/stats/{userId}", userId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/progress/achievements/{userId}", userId)).andExpect(status().isOk());
+        assertThat(reads("replica-1", "replica") - before).isEqualTo(3);
+    }
+
+    @Test
+    void exportsStayOnThePrimary() throws Exception {
+        double before = reads("replica-1", "replica");
+        mockMvc.perform(get("/api/export/users")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/export/progress").param("format", "ndjson")).andExpect(status().isOk());
+        assertThat(reads("replica-1", "replica")).isEqualTo(before);
+    }
+
+    @Test
+    void userReadsTheirOwnUpdateFromThePrimary() throws Exception {
+        double sticky = reads("primary", "sticky");
+        mockMvc.perform(put("/api/progress/update/{userId}", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"pathId\": " + pathId + ", \"incrementPercent\": 100}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/progress/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.pathId == " + pathId + ")].status").value("COMPLETED"));
+        assertThat(reads("primary", "sticky") - sticky).isEqualTo(1);
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotation() throws Exception {
+        SingleConnectionDataSource replica = new SingleConnectionDataSource(
+                System.getProperty("replica.url"), "admin", "password", true);
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("SELECT pg_wal_replay_pause()");
+        try {
+            // Writes the replica does not replay while paused
+            jdbcTemplate.update("UPDATE users SET first_name = 'lagging' WHERE id = ?", userId);
+            awaitUntil(() -> routing.lagMillis(0) > 300, 5000);
+
+            double fallback = reads("primary", "no-replica");
+            mockMvc.perform(get("/api/progress/stats/{userId}", userId)).andExpect(status().isOk());
+            assertThat(reads("primary", "no-replica") - fallback).isEqualTo(1);
+        } finally {
+            replicaJdbc.execute("SELECT pg_wal_replay_resume()");
+            replica.destroy();
+        }
+        awaitUntil(() -> routing.lagMillis(0) == 0, 5000);
+    }
+
+    private double reads(String target, String reason) {
+        return meterRegistry.get("datasource.reads").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in %d ms", timeoutMillis).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
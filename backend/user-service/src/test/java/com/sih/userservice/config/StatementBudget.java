@@ -0,0 +1,44 @@
+package com.sih.userservice.config;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers that fail a request exceeding its Hibernate budget, e.g.
+ * {@code mockMvc.perform(get(...)).andExpect(StatementBudget.statementsAtMost(2))}.
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    public static ResultMatcher statementsAtMost(long max) {
+        return result -> assertThat(statsOf(result).getStatements())
+                .as("statements for %s (%s)", describe(result), statsOf(result))
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static ResultMatcher entityLoadsAtMost(long max) {
+        return result -> assertThat(statsOf(result).getEntityLoads())
+                .as("entity loads for %s (%s)", describe(result), statsOf(result))
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static ResultMatcher flushesAtMost(long max) {
+        return result -> assertThat(statsOf(result).getFlushes())
+                .as("flushes for %s (%s)", describe(result), statsOf(result))
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static RequestStatementStats statsOf(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(RequestStatementStats.REQUEST_ATTRIBUTE);
+        assertThat(stats).as("statement stats; is metrics.hibernate.per-request.enabled on?").isNotNull();
+        return (RequestStatementStats) stats;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
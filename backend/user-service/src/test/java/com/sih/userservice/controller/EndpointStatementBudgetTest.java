@@ -0,0 +1,128 @@
+package com.sih.userservice.controller;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.sih.userservice.config.StatementBudget.entityLoadsAtMost;
+import static com.sih.userservice.config.StatementBudget.statementsAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Reward workers are kept idle; they run on their own threads anyway, but keep the database quiet
+@SpringBootTest(properties = "rewards.outbox.poll-interval-ms=3600000")
+@AutoConfigureMockMvc
+class EndpointStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        userId = TestUsers.create(userRepository, "statement-budget");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUserData(jdbcTemplate, userId);
+    }
+
+    @Test
+    void progressEndpointsStayWithinTheirBudgets() throws Exception {
+        // Existence check plus three set-based seeding statements, however many paths exist
+        mockMvc.perform(post("/api/progress/initialize/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(5));
+        mockMvc.perform(get("/api/progress/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1))
+                .andExpect(entityLoadsAtMost(0));
+        mockMvc.perform(get("/api/progress/stats/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+        mockMvc.perform(get("/api/progress/achievements/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1))
+                .andExpect(entityLoadsAtMost(1));
+    }
+
+    @Test
+    void lessonAndCompletionStayWithinTwoStatements() throws Exception {
+        mockMvc.perform(post("/api/progress/initialize/{userId}", userId)).andExpect(status().isOk());
+        // Loads the path catalog, which the updates then read from memory
+        mockMvc.perform(get("/api/progress/paths")).andExpect(status().isOk());
+        List<Long> pathIds = jdbcTemplate.queryForList("SELECT path_id FROM learning_paths WHERE is_active " +
+                "AND total_lessons > 1 ORDER BY path_id LIMIT 2", Long.class);
+
+        // Progress row, completed-path counter and activity bitmap in one statement
+        mockMvc.perform(update(pathIds.get(0), 1))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+        LocalDate today = LocalDate.now();
+        assertThat(jdbcTemplate.queryForObject("SELECT get_bit(days, ?) FROM user_activity WHERE user_id = ? AND year = ?",
+                Integer.class, today.getDayOfYear() - 1, userId, today.getYear())).isEqualTo(1);
+
+        // A completion adds the outbox insert; the first one may also fetch a block of outbox ids
+        mockMvc.perform(update(pathIds.get(1), 100))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(3));
+        mockMvc.perform(update(pathIds.get(0), 100))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2));
+    }
+
+    @Test
+    void exceedingTheBudgetFailsTheTest() {
+        assertThatThrownBy(() -> mockMvc.perform(post("/api/progress/initialize/{userId}", userId))
+                .andExpect(statementsAtMost(1)))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("statements for POST /api/progress/initialize/" + userId);
+    }
+
+    @Test
+    void recordsPerEndpointMeters() throws Exception {
+        mockMvc.perform(get("/api/progress/user/{userId}", userId)).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("hibernate.request.statements")
+                .tag("method", "GET").tag("uri", "/api/progress/user/{userId}").summary();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.max()).isEqualTo(1);
+        assertThat(meterRegistry.get("hibernate.request.db.time")
+                .tag("uri", "/api/progress/user/{userId}").timer().count()).isPositive();
+    }
+
+    private RequestBuilder update(Long pathId, int incrementPercent) {
+        return put("/api/progress/update/{userId}", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"pathId\": " + pathId + ", \"incrementPercent\": " + incrementPercent + "}");
+    }
+}
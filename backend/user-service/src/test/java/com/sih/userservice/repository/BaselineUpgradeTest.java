@@ -0,0 +1,94 @@
+package com.sih.userservice.repository;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.UserServiceApplication;
+import com.sih.userservice.service.ProgressTrackingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the service against a scratch database holding the original schema and data, with no Flyway history, as
+ * every database created before the migrations does: it must be baselined at V1, get every later migration and
+ * pass Hibernate's validation, keeping the existing rows and ids.
+ */
+class BaselineUpgradeTest {
+
+    private static final String DATABASE = "userdb_baseline_upgrade";
+
+    private JdbcTemplate server;
+    private String url;
+    private String username;
+    private String password;
+
+    @BeforeEach
+    void createOriginalDatabase() throws Exception {
+        Properties properties = PropertiesLoaderUtils.loadAllProperties("application.properties");
+        String configuredUrl = properties.getProperty("spring.datasource.url");
+        username = properties.getProperty("spring.datasource.username");
+        password = properties.getProperty("spring.datasource.password");
+        url = configuredUrl.substring(0, configuredUrl.lastIndexOf('/') + 1) + DATABASE;
+
+        server = new JdbcTemplate(new SingleConnectionDataSource(configuredUrl, username, password, true));
+        server.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+        server.execute("CREATE DATABASE " + DATABASE);
+        SingleConnectionDataSource original = new SingleConnectionDataSource(url, username, password, true);
+        try (Connection connection = original.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/original-baseline-schema.sql"));
+        } finally {
+            original.destroy();
+        }
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        server.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+        ((SingleConnectionDataSource) server.getDataSource()).destroy();
+    }
+
+    @Test
+    void originalDatabaseIsBaselinedAndMigrated() {
+        // Startup fails outright if a migration breaks or Hibernate does not validate the result
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(UserServiceApplication.class)
+                .run("--spring.datasource.url=" + url, "--server.port=0", "--jobs.achievements-maintenance.enabled=false")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            List<String> applied = jdbcTemplate.queryForList(
+                    "SELECT type || ':' || version FROM flyway_schema_history WHERE success ORDER BY installed_rank",
+                    String.class);
+            assertThat(applied.getFirst()).isEqualTo("BASELINE:1");
+            assertThat(applied).contains("SQL:2", "SQL:10").doesNotContain("SQL:1");
+
+            // Existing rows keep their ids
+            assertThat(jdbcTemplate.queryForObject("SELECT email FROM users WHERE id = 1", String.class))
+                    .isEqualTo("early-student@upgrade.local");
+            assertThat(jdbcTemplate.queryForObject("SELECT points_earned FROM user_achievements WHERE user_id = 1",
+                    Integer.class)).isEqualTo(50);
+            // The path completed before the migration was already rewarded
+            assertThat(jdbcTemplate.queryForList("SELECT completion_rewarded FROM user_progress WHERE user_id = 1 "
+                    + "ORDER BY path_id", Boolean.class)).containsExactly(true, false);
+
+            // New rows draw ids past the old ones, through Hibernate's pooled blocks and the native nextval defaults
+            Long userId = TestUsers.create(context.getBean(UserRepository.class), "after-upgrade");
+            assertThat(userId).isGreaterThan(2);
+            context.getBean(ProgressTrackingService.class).initializeUserProgress(userId);
+            assertThat(jdbcTemplate.queryForObject("SELECT min(progress_id) FROM user_progress WHERE user_id = ?",
+                    Long.class, userId)).isGreaterThan(2);
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM user_achievements WHERE user_id = ?",
+                    Integer.class, userId)).isEqualTo(1);
+        }
+    }
+}
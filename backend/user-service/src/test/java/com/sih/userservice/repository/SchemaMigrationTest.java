@@ -0,0 +1,83 @@
+package com.sih.userservice.repository;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.service.ProgressTrackingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    private Long userId;
+
+    // A user with a row per path, so the planner has real statistics to choose between the user_progress indexes
+    @BeforeEach
+    void seedProgress() {
+        userId = TestUsers.create(userRepository, "schema-migration");
+        progressTrackingService.initializeUserProgress(userId);
+        jdbcTemplate.execute("ANALYZE user_progress");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUserData(jdbcTemplate, userId);
+    }
+
+    @Test
+    void everyMigrationIsApplied() {
+        // The context only starts if Hibernate validated the entities against the migrated schema
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success AND version IS NOT NULL ORDER BY installed_rank",
+                String.class);
+        assertThat(versions).contains("1", "2");
+    }
+
+    @Test
+    void hotPathQueriesAreServedByIndexes() {
+        // Only (user_id, status) covers the count without visiting the table
+        assertThat(plan("SELECT count(*) FROM user_progress WHERE user_id = " + userId + " AND status = 'COMPLETED'"))
+                .contains("idx_user_progress_user_status");
+        assertThat(plan("SELECT path_id FROM learning_paths WHERE is_active = true ORDER BY sort_order"))
+                .contains("idx_learning_paths_active_sort");
+        assertThat(plan("SELECT id FROM users WHERE lower(email) = lower('Someone@Test.Local')"))
+                .contains("idx_users_email_prefix");
+    }
+
+    // The test tables are tiny, so rule out sequential scans to see which index the planner would use
+    private String plan(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
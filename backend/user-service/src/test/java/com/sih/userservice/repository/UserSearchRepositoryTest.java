@@ -0,0 +1,136 @@
+package com.sih.userservice.repository;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.dto.UserPageResponse;
+import com.sih.userservice.dto.UserResponse;
+import com.sih.userservice.entity.User;
+import com.sih.userservice.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UserSearchRepositoryTest {
+
+    private static final String EMAIL_PREFIX = "user-search-";
+    private static final int USERS = 7;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserSearchRepository userSearchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String tag;
+
+    @BeforeEach
+    void seed() {
+        // Unique surname so searches only see this test's rows
+        tag = "zq" + Long.toString(System.nanoTime(), 36);
+        for (int i = 0; i < USERS; i++) {
+            jdbcTemplate.update("INSERT INTO users (email, password, username, first_name, last_name, role, enabled) "
+                            + "VALUES (?, 'x', ?, ?, ?, ?, ?)",
+                    EMAIL_PREFIX + tag + "-" + i + "@test.local", EMAIL_PREFIX + tag + "-" + i,
+                    "First" + i, tag, i % 2 == 0 ? "STUDENT" : "TEACHER", i % 3 != 0);
+        }
+        // A freshly migrated database has no statistics yet, and the plans below depend on them
+        jdbcTemplate.execute("ANALYZE users");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void walksAllPagesInIdOrderWithoutGapsOrRepeats() {
+        List<UserResponse> seen = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            UserPageResponse page = userService.searchUsers(tag.toUpperCase(), null, null, cursor, 3);
+            seen.addAll(page.getUsers());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(USERS);
+        assertThat(seen).extracting(UserResponse::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(seen).allSatisfy(u -> assertThat(u.getLastName()).isEqualTo(tag));
+    }
+
+    @Test
+    void appliesRoleAndEnabledFilters() {
+        List<UserResponse> pendingStudents = userSearchRepository.search(tag, User.Role.STUDENT, false, null, 50);
+        // i = 0 and 6 are even (STUDENT) and divisible by 3 (disabled)
+        assertThat(pendingStudents).extracting(UserResponse::getEmail).containsExactly(
+                EMAIL_PREFIX + tag + "-0@test.local", EMAIL_PREFIX + tag + "-6@test.local");
+
+        List<UserResponse> enabledTeachers = userSearchRepository.search(tag, User.Role.TEACHER, true, null, 50);
+        assertThat(enabledTeachers).hasSize(2)
+                .allSatisfy(u -> assertThat(u.isEnabled()).isTrue())
+                .allSatisfy(u -> assertThat(u.getRole()).isEqualTo(User.Role.TEACHER));
+    }
+
+    @Test
+    void shortQueriesMatchEmailOrUsernamePrefixOnly() {
+        List<UserResponse> users = userSearchRepository.search("us", null, null, null, 200);
+        assertThat(users).isNotEmpty().allSatisfy(u -> assertThat(
+                u.getEmail().toLowerCase().startsWith("us") || u.getUsername().toLowerCase().startsWith("us")).isTrue());
+    }
+
+    @Test
+    void likeWildcardsInTheQueryAreLiteral() {
+        assertThat(userSearchRepository.search(tag + "%", null, null, null, 50)).isEmpty();
+        assertThat(userSearchRepository.search("_" + tag.substring(1), null, null, null, 50)).isEmpty();
+    }
+
+    @Test
+    void pendingListingAndSearchAreServedByIndexes() {
+        assertThat(plan("SELECT id FROM users WHERE id > 0 AND enabled = false ORDER BY id LIMIT 100"))
+                .contains("idx_users_pending_id");
+        // With only a handful of rows an "id > 0" bitmap is always cheapest, so these two check the
+        // search predicates on their own
+        assertThat(plan("SELECT id FROM users WHERE " + UserSearchRepository.SEARCH_TEXT
+                + " LIKE '%" + tag + "%' ORDER BY id LIMIT 50"))
+                .contains("idx_users_search_trgm");
+        assertThat(plan("SELECT id FROM users WHERE lower(email) LIKE 'us%' ORDER BY id LIMIT 50"))
+                .contains("idx_users_email_prefix");
+    }
+
+    // The test table is tiny, so rule out full scans (sequential, or a whole-index walk in id order)
+    // to see which index the planner can narrow the rows with
+    private String plan(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                statement.execute("SET enable_indexscan = off");
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                    statement.execute("RESET enable_indexscan");
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
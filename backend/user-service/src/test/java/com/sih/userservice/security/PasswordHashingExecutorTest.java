@@ -0,0 +1,155 @@
+package com.sih.userservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    @Test
+    void rejectsWorkBeyondThreadsPlusQueue() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingExecutor hashing = new PasswordHashingExecutor(blocking, registry, 4, 1, 1, 10_000, 2, 1, 4);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> hashing.encode("running"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            callers.submit(() -> hashing.encode("queued"));
+            waitUntilQueued(registry);
+
+            assertThatThrownBy(() -> hashing.encode("rejected"))
+                    .isInstanceOf(PasswordHashingRejectedException.class)
+                    .extracting("retryAfterSeconds").isEqualTo(2L);
+            assertThat(registry.get("password.hashing.rejected").counter().count()).isEqualTo(1.0);
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            hashing.stop();
+        }
+    }
+
+    @Test
+    void timesOutInsteadOfWaitingForever() {
+        PasswordEncoder slow = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        PasswordHashingExecutor hashing = new PasswordHashingExecutor(slow, new SimpleMeterRegistry(), 4, 1, 1, 50, 1, 1, 4);
+        try {
+            assertThatThrownBy(() -> hashing.matches("pw", "hash"))
+                    .isInstanceOf(PasswordHashingRejectedException.class);
+        } finally {
+            hashing.stop();
+        }
+    }
+
+    @Test
+    void flagsHashesWithADifferentCostForRehash() {
+        String cheaperHash = new BCryptPasswordEncoder(4).encode("secret");
+        String costlierHash = new BCryptPasswordEncoder(6).encode("secret");
+        PasswordHashingExecutor hashing = new PasswordHashingExecutor(new BCryptPasswordEncoder(5), new SimpleMeterRegistry(), 5, 1, 4, 10_000, 1, 1, 4);
+        try {
+            assertThat(hashing.matches("secret", cheaperHash)).isTrue();
+            assertThat(hashing.needsRehash(cheaperHash)).isTrue();
+            // Lowering the configured cost applies too
+            assertThat(hashing.matches("secret", costlierHash)).isTrue();
+            assertThat(hashing.needsRehash(costlierHash)).isTrue();
+            assertThat(hashing.needsRehash(hashing.encode("secret"))).isFalse();
+        } finally {
+            hashing.stop();
+        }
+    }
+
+    @Test
+    void bulkHashingKeepsOrderAndDoesNotQueueBehindInteractiveWork() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingInteractive = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if (rawPassword.toString().equals("interactive")) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingExecutor hashing = new PasswordHashingExecutor(blockingInteractive, registry, 4, 1, 1, 10_000, 1, 2, 4);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> hashing.encode("interactive"));
+            callers.submit(() -> hashing.encode("interactive"));
+            waitUntilQueued(registry);
+
+            List<String> hashes = hashing.encodeAll(List.of("a", "b", "c")).get(5, TimeUnit.SECONDS);
+
+            assertThat(hashes).hasSize(3);
+            assertThat(blockingInteractive.matches("a", hashes.get(0))).isTrue();
+            assertThat(blockingInteractive.matches("b", hashes.get(1))).isTrue();
+            assertThat(blockingInteractive.matches("c", hashes.get(2))).isTrue();
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            hashing.stop();
+        }
+    }
+
+    @Test
+    void bulkHashingWaitsForRoomInABoundedQueue() throws Exception {
+        PasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingExecutor hashing = new PasswordHashingExecutor(encoder, registry, 4, 1, 1, 10_000, 1, 1, 1);
+        try {
+            List<String> passwords = List.of("a", "b", "c", "d", "e", "f");
+            List<String> hashes = hashing.encodeAll(passwords).get(5, TimeUnit.SECONDS);
+
+            assertThat(hashes).hasSize(passwords.size());
+            for (int i = 0; i < passwords.size(); i++) {
+                assertThat(encoder.matches(passwords.get(i), hashes.get(i))).isTrue();
+            }
+            assertThat(registry.get("executor.queue.remaining").tag("name", "password-hashing-bulk").gauge().value()).isEqualTo(1.0);
+        } finally {
+            hashing.stop();
+        }
+    }
+
+    private static void waitUntilQueued(SimpleMeterRegistry registry) throws InterruptedException {
+        for (int i = 0; i < 500 && registry.get("executor.queued").tag("name", "password-hashing").gauge().value() < 1; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run dates far in the past, so the cutoff leaves every other row's streak alone
+@SpringBootTest(properties = {"jobs.achievements-maintenance.enabled=false", "jobs.achievements-maintenance.chunk-size=2"})
+class AchievementsMaintenanceJobTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2000, 1, 3);
+
+    @Autowired
+    private AchievementsMaintenanceJob job;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM batch_job_run WHERE job_name = ? AND run_date = ?",
+                AchievementsMaintenanceJob.JOB_NAME, RUN_DATE);
+        TestUsers.deleteUserData(jdbcTemplate, userIds);
+    }
+
+    @Test
+    void expiresMissedStreaksAndNormalizesLevels() {
+        Long stale = userWithAchievements(700, 1, 4, "2000-01-01");
+        Long yesterday = userWithAchievements(100, 1, 6, "2000-01-02");
+        Long today = userWithAchievements(0, 1, 2, "2000-01-03");
+
+        assertThat(job.run(RUN_DATE)).isPositive();
+
+        assertThat(achievements(stale)).containsEntry("streak", 0).containsEntry("level", 3);
+        assertThat(achievements(yesterday)).containsEntry("streak", 6).containsEntry("level", 1);
+        assertThat(achievements(today)).containsEntry("streak", 2).containsEntry("level", 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT finished_at IS NOT NULL FROM batch_job_run WHERE job_name = ? AND run_date = ?",
+                Boolean.class, AchievementsMaintenanceJob.JOB_NAME, RUN_DATE)).isTrue();
+        // A finished run is not repeated
+        jdbcTemplate.update("UPDATE user_achievements SET streak = 9 WHERE user_id = ?", stale);
+        assertThat(job.run(RUN_DATE)).isZero();
+    }
+
+    @Test
+    void resumedRunSkipsCompletedChunks() {
+        Long done = userWithAchievements(0, 1, 5, "1999-12-01");
+        Long pending = userWithAchievements(0, 1, 5, "1999-12-01");
+
+        job.plan(RUN_DATE);
+        // As if an earlier attempt had processed the chunk holding the first user before it stopped
+        Long doneKey = jdbcTemplate.queryForObject("SELECT achievement_id FROM user_achievements WHERE user_id = ?", Long.class, done);
+        jdbcTemplate.update("UPDATE batch_job_chunk SET completed_at = now(), rows_updated = 0 " +
+                "WHERE job_name = ? AND run_date = ? AND after_key < ? AND last_key >= ?",
+                AchievementsMaintenanceJob.JOB_NAME, RUN_DATE, doneKey, doneKey);
+        Long pendingKey = jdbcTemplate.queryForObject("SELECT achievement_id FROM user_achievements WHERE user_id = ?", Long.class, pending);
+        boolean sameChunk = Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT completed_at IS NOT NULL FROM batch_job_chunk " +
+                "WHERE job_name = ? AND run_date = ? AND after_key < ? AND last_key >= ?",
+                Boolean.class, AchievementsMaintenanceJob.JOB_NAME, RUN_DATE, pendingKey, pendingKey));
+
+        job.run(RUN_DATE);
+
+        assertThat(achievements(done)).containsEntry("streak", 5);
+        assertThat(achievements(pending)).containsEntry("streak", sameChunk ? 5 : 0);
+    }
+
+    private Long userWithAchievements(int points, int level, int streak, String lastActiveDate) {
+        Long userId = TestUsers.create(userRepository, "maintenance");
+        userIds.add(userId);
+        jdbcTemplate.update("INSERT INTO user_achievements (user_id, points_earned, certificates_earned, level, streak, " +
+                "last_active_date, created_at, last_updated) VALUES (?, ?, 0, ?, ?, ?, now(), now())",
+                userId, points, level, streak, lastActiveDate);
+        return userId;
+    }
+
+    private Map<String, Object> achievements(Long userId) {
+        return jdbcTemplate.queryForMap("SELECT streak, level FROM user_achievements WHERE user_id = ?", userId);
+    }
+}
@@ -0,0 +1,179 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.dto.AdminStatsResponse;
+import com.sih.userservice.dto.CreateUserRequest;
+import com.sih.userservice.dto.PathCompletionsResponse;
+import com.sih.userservice.dto.UpdateProgressRequest;
+import com.sih.userservice.dto.UserResponse;
+import com.sih.userservice.entity.User;
+import com.sih.userservice.repository.AdminStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {"analytics.rollups.reconcile-interval-ms=3600000", "rewards.outbox.poll-interval-ms=3600000"})
+class AdminStatsServiceTest {
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    @Autowired
+    private RewardOutboxProcessor rewardOutboxProcessor;
+
+    @Autowired
+    private LearningPathCatalog learningPathCatalog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUserData(jdbcTemplate, userIds);
+        adminStatsService.reconcile();
+    }
+
+    @Test
+    void signupApprovalAndRejectionAreCountedWithoutTouchingTheTables() {
+        adminStatsService.reconcile();
+        AdminStatsResponse before = adminStatsService.getStats();
+
+        UserResponse teacher = userService.createWithRole(request("TEACHER"));
+        userIds.add(teacher.getId());
+        UserResponse ambassador = userService.createWithRole(request("AMBASSADOR"));
+        userIds.add(ambassador.getId());
+        AdminStatsResponse pending = adminStatsService.getStats();
+        assertThat(pending.getTotalUsers()).isEqualTo(before.getTotalUsers() + 2);
+        assertThat(pending.getUsersByRole().get(User.Role.TEACHER)).isEqualTo(before.getUsersByRole().get(User.Role.TEACHER) + 1);
+        assertThat(pending.getPendingApprovals()).isEqualTo(before.getPendingApprovals() + 2);
+
+        userService.enableUser(teacher.getId());
+        userService.enableUser(teacher.getId());
+        userService.deleteUser(ambassador.getId());
+        AdminStatsResponse after = adminStatsService.getStats();
+        assertThat(after.getTotalUsers()).isEqualTo(before.getTotalUsers() + 1);
+        assertThat(after.getUsersByRole().get(User.Role.AMBASSADOR)).isEqualTo(before.getUsersByRole().get(User.Role.AMBASSADOR));
+        assertThat(after.getPendingApprovals()).isEqualTo(before.getPendingApprovals());
+
+        // Nothing drifted: the base tables agree
+        adminStatsService.reconcile();
+        AdminStatsResponse reconciled = adminStatsService.getStats();
+        assertThat(reconciled.getUsersByRole()).isEqualTo(after.getUsersByRole());
+        assertThat(reconciled.getPendingApprovals()).isEqualTo(after.getPendingApprovals());
+    }
+
+    @Test
+    void completionsProgressAndCertificatesFollowProgressUpdates() {
+        adminStatsService.reconcile();
+        AdminStatsResponse before = adminStatsService.getStats();
+        UserResponse student = userService.createStudent(request("STUDENT"));
+        userIds.add(student.getId());
+        progressTrackingService.initializeUserProgress(student.getId());
+        Long pathId = jdbcTemplate.queryForObject("SELECT min(path_id) FROM learning_paths WHERE is_active", Long.class);
+
+        UpdateProgressRequest update = new UpdateProgressRequest();
+        update.setPathId(pathId);
+        update.setIncrementPercent(100);
+        progressTrackingService.updateProgress(student.getId(), update);
+
+        // The commit also wakes a worker, which may be the one that applies the reward
+        long deadline = System.currentTimeMillis() + 5000;
+        AdminStatsResponse after;
+        do {
+            rewardOutboxProcessor.drain();
+            after = adminStatsService.getStats();
+        } while (after.getCertificatesIssued() < before.getCertificatesIssued() + 4 && System.currentTimeMillis() < deadline);
+        // Three seeded with the achievements row, one for the completion
+        assertThat(after.getCertificatesIssued()).isEqualTo(before.getCertificatesIssued() + 4);
+        assertThat(completions(after, pathId)).isEqualTo(completions(before, pathId) + 1);
+
+        adminStatsService.reconcile();
+        AdminStatsResponse reconciled = adminStatsService.getStats();
+        assertThat(reconciled.getCertificatesIssued()).isEqualTo(after.getCertificatesIssued());
+        assertThat(reconciled.getCompletionsByPath()).isEqualTo(after.getCompletionsByPath());
+        assertThat(reconciled.getAverageProgressPercentage()).isCloseTo(after.getAverageProgressPercentage(),
+                offset(1e-6));
+        assertThat(reconciled.getAverageProgressPercentage()).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT avg(progress_percentage) FROM user_progress", Double.class), offset(1e-6));
+    }
+
+    @Test
+    void reconciliationPicksUpWritesMadeAroundTheServices() {
+        adminStatsService.reconcile();
+        long before = adminStatsService.getStats().getUsersByRole().get(User.Role.ADMIN);
+        userIds.add(jdbcTemplate.queryForObject("INSERT INTO users (email, password, username, role, enabled) " +
+                "VALUES (?, 'x', 'stats', 'ADMIN', true) RETURNING id", Long.class, "stats-" + System.nanoTime() + "@test.local"));
+        assertThat(adminStatsService.getStats().getUsersByRole().get(User.Role.ADMIN)).isEqualTo(before);
+
+        adminStatsService.reconcile();
+        assertThat(adminStatsService.getStats().getUsersByRole().get(User.Role.ADMIN)).isEqualTo(before + 1);
+    }
+
+    @Test
+    void startupDoesNotWaitForTheFirstReconciliation() throws Exception {
+        AdminStatsRepository slowRepository = mock(AdminStatsRepository.class);
+        CountDownLatch scanned = new CountDownLatch(1);
+        when(slowRepository.computeTotals()).thenAnswer(invocation -> {
+            scanned.await(5, TimeUnit.SECONDS);
+            return new AdminStatsRepository.Totals(Map.of(User.Role.STUDENT, 3L), 0, Map.of(), 0, 0, 0);
+        });
+        AdminStatsService starting = new AdminStatsService(slowRepository, learningPathCatalog, transactionManager,
+                new SimpleMeterRegistry(), 3600000);
+        try {
+            starting.start();
+            assertThat(starting.getStats().isWarmingUp()).isTrue();
+
+            scanned.countDown();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (starting.getStats().isWarmingUp() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            AdminStatsResponse warm = starting.getStats();
+            assertThat(warm.isWarmingUp()).isFalse();
+            assertThat(warm.getTotalUsers()).isEqualTo(3);
+        } finally {
+            starting.stop();
+        }
+    }
+
+    private static CreateUserRequest request(String role) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setEmail("stats-" + System.nanoTime() + "@test.local");
+        request.setPassword("secret");
+        request.setRole(role);
+        return request;
+    }
+
+    private static long completions(AdminStatsResponse stats, Long pathId) {
+        return stats.getCompletionsByPath().stream()
+                .filter(path -> path.getPathId().equals(pathId))
+                .mapToLong(PathCompletionsResponse::getCompletions)
+                .findFirst().orElse(0);
+    }
+}
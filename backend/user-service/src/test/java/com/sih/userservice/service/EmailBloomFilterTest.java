@@ -0,0 +1,59 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmailBloomFilterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void answersMaybePresentUntilWarmed() {
+        EmailBloomFilter filter = newFilter(true, 1_000);
+        assertThat(filter.mightContain("nobody@test.local")).isTrue();
+
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("a@test.local"));
+        filter.warm();
+
+        assertThat(filter.mightContain("a@test.local")).isTrue();
+        assertThat(filter.mightContain("nobody@test.local")).isFalse();
+    }
+
+    @Test
+    void neverReportsAKnownEmailAsNewAndKeepsFalsePositivesNearTheTarget() {
+        int known = 10_000;
+        EmailBloomFilter filter = newFilter(true, known);
+        when(userRepository.streamAllEmails()).thenReturn(IntStream.range(0, known).mapToObj(i -> "user" + i + "@test.local"));
+        filter.warm();
+
+        for (int i = 0; i < known; i++) {
+            assertThat(filter.mightContain("user" + i + "@test.local")).isTrue();
+        }
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("other" + i + "@test.local"))
+                .count();
+        // Configured for 1%; allow generous slack
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void disabledFilterAlwaysDefersToTheDatabase() {
+        EmailBloomFilter filter = newFilter(false, 1_000);
+        filter.warm();
+        assertThat(filter.mightContain("nobody@test.local")).isTrue();
+    }
+
+    private EmailBloomFilter newFilter(boolean enabled, long expectedInsertions) {
+        return new EmailBloomFilter(userRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                enabled, expectedInsertions, 0.01);
+    }
+}
@@ -0,0 +1,86 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.entity.User;
+import com.sih.userservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class LeaderboardServiceTest {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        userId = TestUsers.create(userRepository, "leaderboard");
+        progressTrackingService.initializeUserProgress(userId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUserData(jdbcTemplate, userId);
+    }
+
+    @Test
+    void scoresArrivingOutOfOrderKeepTheNewest() {
+        leaderboardService.onScoresChanged(score(900, 4, 3));
+        // Written before the one above but delivered after it
+        leaderboardService.onScoresChanged(score(600, 3, 2));
+        assertThat(points()).isEqualTo(900);
+
+        // Points can go down; a newer version wins either way
+        leaderboardService.onScoresChanged(score(300, 2, 4));
+        assertThat(points()).isEqualTo(300);
+    }
+
+    @Test
+    void deletedUserLeavesEveryBoard() {
+        assertThat(leaderboardService.getPosition(userId, User.Role.STUDENT, 0).getRank()).isPositive();
+        // deleteUser only removes the users row; the admin flow clears the rest first
+        jdbcTemplate.update("DELETE FROM user_progress WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM user_achievements WHERE user_id = ?", userId);
+
+        userService.deleteUser(userId);
+
+        assertThatThrownBy(() -> leaderboardService.getPosition(userId, null, 0)).hasMessage("User not ranked");
+        assertThatThrownBy(() -> leaderboardService.getPosition(userId, User.Role.STUDENT, 0)).hasMessage("User not ranked");
+        // A score committed before the delete and delivered after it does not bring the user back
+        leaderboardService.onScoresChanged(score(900, 4, 3));
+        assertThatThrownBy(() -> leaderboardService.getPosition(userId, null, 0)).hasMessage("User not ranked");
+    }
+
+    private ScoresChangedEvent score(int points, int level, long version) {
+        return new ScoresChangedEvent(Map.of(userId, new ScoresChangedEvent.Score(points, level, version)));
+    }
+
+    private int points() {
+        return leaderboardService.getPosition(userId, null, 0).getNeighborhood().stream()
+                .filter(entry -> entry.getUserId().equals(userId))
+                .findFirst().orElseThrow().getPointsEarned();
+    }
+}
@@ -0,0 +1,108 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.entity.LearningPath;
+import com.sih.userservice.repository.LearningPathRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LearningPathCatalogTest {
+
+    private final LearningPathRepository repository = mock(LearningPathRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LearningPathCatalog catalog = new LearningPathCatalog(repository, meterRegistry, 0);
+
+    @Test
+    void servesRepeatedLookupsFromOneSnapshot() {
+        when(repository.findAll()).thenReturn(List.of(path(1L, 8, 2, true), path(2L, 6, 1, true), path(3L, 5, 3, false)));
+
+        LearningPathCatalog.Snapshot first = catalog.snapshot();
+        LearningPathCatalog.Snapshot second = catalog.snapshot();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.activePaths()).extracting("pathId").containsExactly(2L, 1L);
+        assertThat(catalog.getTotalLessons(3L)).isEqualTo(5);
+        verify(repository, times(1)).findAll();
+        assertThat(meterRegistry.get("learning.path.catalog.lookups").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("learning.path.catalog.lookups").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void reloadSwapsVersionAndKeepsEtagStableForSameContent() {
+        when(repository.findAll()).thenReturn(List.of(path(1L, 8, 1, true)));
+
+        LearningPathCatalog.Snapshot first = catalog.reload();
+        LearningPathCatalog.Snapshot second = catalog.reload();
+
+        assertThat(second.version()).isEqualTo(first.version() + 1);
+        assertThat(second.etag()).isEqualTo(first.etag());
+
+        when(repository.findAll()).thenReturn(List.of(path(1L, 9, 1, true)));
+        assertThat(catalog.reload().etag()).isNotEqualTo(first.etag());
+    }
+
+    @Test
+    void etagTellsApartCatalogsWithEqualHashCodes() {
+        // "Aa" and "BB" share a String hash code, so both lists have the same hashCode
+        LearningPath first = path(1L, 8, 1, true);
+        first.setTitle("Aa");
+        LearningPath second = path(1L, 8, 1, true);
+        second.setTitle("BB");
+
+        when(repository.findAll()).thenReturn(List.of(first));
+        LearningPathCatalog.Snapshot before = catalog.reload();
+        when(repository.findAll()).thenReturn(List.of(second));
+        LearningPathCatalog.Snapshot after = catalog.reload();
+
+        assertThat(after.activePaths().hashCode()).isEqualTo(before.activePaths().hashCode());
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void unknownPathReloadsOnceThenFails() {
+        when(repository.findAll()).thenReturn(List.of(path(1L, 8, 1, true)));
+        catalog.reload();
+
+        assertThatThrownBy(() -> catalog.getTotalLessons(42L)).isInstanceOf(LearningPathNotFoundException.class);
+        verify(repository, times(2)).findAll();
+        // Known to be missing from this version: no further reload
+        assertThatThrownBy(() -> catalog.getTotalLessons(42L)).isInstanceOf(LearningPathNotFoundException.class);
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    void unknownPathsReloadAtMostOncePerInterval() {
+        LearningPathCatalog throttled = new LearningPathCatalog(repository, meterRegistry, 60_000);
+        when(repository.findAll()).thenReturn(List.of(path(1L, 8, 1, true)));
+        throttled.reload();
+
+        for (long pathId = 100; pathId < 200; pathId++) {
+            long bogus = pathId;
+            assertThatThrownBy(() -> throttled.getPath(bogus)).isInstanceOf(LearningPathNotFoundException.class);
+        }
+        assertThat(throttled.getTotalLessons(1L)).isEqualTo(8);
+        verify(repository, times(1)).findAll();
+    }
+
+    private static LearningPath path(Long id, int totalLessons, int sortOrder, boolean active) {
+        LearningPath path = new LearningPath();
+        path.setPathId(id);
+        path.setTitle("Path " + id);
+        path.setDescription("Description " + id);
+        path.setTotalLessons(totalLessons);
+        path.setIcon("*");
+        path.setColor("text-primary");
+        path.setBgColor("bg-primary/10");
+        path.setSortOrder(sortOrder);
+        path.setIsActive(active);
+        return path;
+    }
+}
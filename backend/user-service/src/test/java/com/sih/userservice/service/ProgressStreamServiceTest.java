@@ -0,0 +1,227 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.TestUsers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sih.userservice.dto.UpdateProgressRequest;
+import com.sih.userservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "progress.stream.heartbeat-ms=200",
+        "progress.stream.max-streams-per-user=2",
+        "rewards.outbox.poll-interval-ms=3600000"})
+class ProgressStreamServiceTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    @Autowired
+    private RewardOutboxProcessor rewardOutboxProcessor;
+
+    @Autowired
+    private ProgressStreamService progressStreamService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<EventStream> streams = new ArrayList<>();
+    private Long userId;
+    private Long pathId;
+
+    @BeforeEach
+    void createUser() {
+        userId = TestUsers.create(userRepository, "progress-stream");
+        progressTrackingService.initializeUserProgress(userId);
+        pathId = jdbcTemplate.queryForObject("SELECT min(path_id) FROM learning_paths WHERE is_active", Long.class);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        streams.forEach(EventStream::close);
+        TestUsers.deleteUserData(jdbcTemplate, userId);
+    }
+
+    @Test
+    void streamStartsWithSnapshotThenPushesProgressAndRewardChanges() throws Exception {
+        EventStream stream = open(null);
+        SseEvent snapshot = stream.next();
+        assertThat(snapshot.name()).isEqualTo("snapshot");
+        JsonNode data = objectMapper.readTree(snapshot.data());
+        assertThat(data.get("progress").isArray()).isTrue();
+        assertThat(data.at("/achievements/userId").asLong()).isEqualTo(userId);
+        int pointsBefore = data.at("/stats/totalPoints").asInt();
+
+        progressTrackingService.updateProgress(userId, update(100));
+        SseEvent progress = stream.next();
+        assertThat(progress.name()).isEqualTo("progress");
+        assertThat(objectMapper.readTree(progress.data()).get("pathId").asLong()).isEqualTo(pathId);
+        assertThat(objectMapper.readTree(progress.data()).get("status").asText()).isEqualTo("COMPLETED");
+
+        // The completion is counted right away; the reward follows once the outbox drains
+        SseEvent counted = stream.next();
+        assertThat(counted.name()).isEqualTo("achievements");
+        assertThat(objectMapper.readTree(counted.data()).get("completedPaths").asInt())
+                .isEqualTo(data.at("/stats/completedPaths").asInt() + 1);
+
+        rewardOutboxProcessor.drain();
+        SseEvent achievements = stream.next();
+        assertThat(achievements.name()).isEqualTo("achievements");
+        assertThat(objectMapper.readTree(achievements.data()).get("pointsEarned").asInt()).isEqualTo(pointsBefore + 50);
+    }
+
+    @Test
+    void changesCommittedOnAnotherInstanceReachTheStream() throws Exception {
+        EventStream stream = open(null);
+        stream.next();
+
+        // What a reward worker on another instance sends when its transaction commits
+        String payload = "{\"origin\":\"another-instance\",\"event\":\"achievements\",\"data\":{\"" + userId
+                + "\":{\"pointsEarned\":1234,\"certificatesEarned\":1,\"level\":3,\"streak\":2,\"completedPaths\":1}}}";
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", ProgressStreamRelay.CHANNEL, payload);
+
+        SseEvent achievements = stream.next();
+        assertThat(achievements.name()).isEqualTo("achievements");
+        assertThat(objectMapper.readTree(achievements.data()).get("pointsEarned").asInt()).isEqualTo(1234);
+    }
+
+    @Test
+    void reconnectWithLastEventIdReplaysOnlyWhatWasMissed() throws Exception {
+        EventStream first = open(null);
+        String snapshotId = first.next().id();
+        first.close();
+        awaitOpenStreams(0);
+
+        progressTrackingService.updateProgress(userId, update(10));
+        progressTrackingService.updateProgress(userId, update(10));
+
+        EventStream resumed = open(snapshotId);
+        SseEvent missed = resumed.next();
+        SseEvent missedToo = resumed.next();
+        assertThat(List.of(missed.name(), missedToo.name())).containsExactly("progress", "progress");
+        assertThat(objectMapper.readTree(missedToo.data()).get("lessonsCompleted").asInt())
+                .isGreaterThan(objectMapper.readTree(missed.data()).get("lessonsCompleted").asInt());
+
+        EventStream unknown = open("someone-else-42");
+        assertThat(unknown.next().name()).isEqualTo("snapshot");
+    }
+
+    @Test
+    void idleStreamsGetHeartbeats() throws Exception {
+        EventStream stream = open(null);
+        stream.next();
+        assertThat(stream.lines.poll(2, TimeUnit.SECONDS)).isEqualTo(":heartbeat");
+    }
+
+    @Test
+    void openStreamsPerUserAreCapped() throws Exception {
+        open(null).next();
+        open(null).next();
+        HttpResponse<Void> third = httpClient.send(request(null), HttpResponse.BodyHandlers.discarding());
+        assertThat(third.statusCode()).isEqualTo(429);
+    }
+
+    private UpdateProgressRequest update(int incrementPercent) {
+        UpdateProgressRequest request = new UpdateProgressRequest();
+        request.setPathId(pathId);
+        request.setIncrementPercent(incrementPercent);
+        return request;
+    }
+
+    private HttpRequest request(String lastEventId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/progress/stream/" + userId))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return builder.build();
+    }
+
+    private EventStream open(String lastEventId) throws Exception {
+        HttpResponse<Stream<String>> response = httpClient.send(request(lastEventId), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        EventStream stream = new EventStream(response.body());
+        streams.add(stream);
+        return stream;
+    }
+
+    private void awaitOpenStreams(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (progressStreamService.getOpenStreams() != expected) {
+            assertThat(System.currentTimeMillis()).as("streams still open").isLessThan(deadline);
+            // The server only notices a closed client on its next write
+            Thread.sleep(50);
+        }
+    }
+
+    private record SseEvent(String id, String name, String data) {
+    }
+
+    private static final class EventStream {
+
+        private final Stream<String> body;
+        private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+        private EventStream(Stream<String> body) {
+            this.body = body;
+            Thread.ofVirtual().start(() -> {
+                try {
+                    body.forEach(lines::add);
+                } catch (RuntimeException e) {
+                    // closed by the test
+                }
+            });
+        }
+
+        // Next event, skipping comments
+        private SseEvent next() throws InterruptedException {
+            String id = null, name = null, data = null;
+            while (true) {
+                String line = lines.poll(5, TimeUnit.SECONDS);
+                assertThat(line).as("no event within 5s").isNotNull();
+                if (line.isEmpty()) {
+                    if (data != null) {
+                        return new SseEvent(id, name, data);
+                    }
+                } else if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                } else if (line.startsWith("data:")) {
+                    data = line.substring(5);
+                }
+            }
+        }
+
+        private void close() {
+            body.close();
+        }
+    }
+}
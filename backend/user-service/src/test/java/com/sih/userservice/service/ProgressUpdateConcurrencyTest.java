@@ -0,0 +1,160 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.dto.LearningPathRequest;
+import com.sih.userservice.dto.ProgressStatsResponse;
+import com.sih.userservice.dto.UpdateProgressRequest;
+import com.sih.userservice.dto.UserProgressResponse;
+import com.sih.userservice.repository.UserAchievementsRepository;
+import com.sih.userservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProgressUpdateConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int UPDATES_PER_THREAD = 25;
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    @Autowired
+    private LearningPathCatalog learningPathCatalog;
+
+    @Autowired
+    private RewardOutboxProcessor rewardOutboxProcessor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserAchievementsRepository userAchievementsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private final List<Long> pathIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUserData(jdbcTemplate, userId);
+        for (Long pathId : pathIds) {
+            jdbcTemplate.update("DELETE FROM user_progress WHERE path_id = ?", pathId);
+            jdbcTemplate.update("DELETE FROM learning_paths WHERE path_id = ?", pathId);
+        }
+        learningPathCatalog.reload();
+    }
+
+    @Test
+    void concurrentUpdatesForOneUserLoseNothingAndRewardOnce() throws Exception {
+        Long longPathId = createPath("Concurrency long path", 10_000);
+        Long shortPathId = createPath("Concurrency short path", 20);
+        userId = TestUsers.create(userRepository, "concurrency-test");
+        progressTrackingService.initializeUserProgress(userId);
+        ProgressStatsResponse before = progressTrackingService.getProgressStats(userId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<Void>> hammers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            hammers.add(() -> {
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    progressTrackingService.updateProgress(userId, lessonOf(longPathId));
+                    progressTrackingService.updateProgress(userId, lessonOf(shortPathId));
+                }
+                return null;
+            });
+        }
+        for (Future<Void> future : executor.invokeAll(hammers)) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Map<Long, UserProgressResponse> progress = progressTrackingService.getUserProgress(userId).stream()
+            .collect(Collectors.toMap(UserProgressResponse::getPathId, Function.identity()));
+        assertThat(progress.get(longPathId).getLessonsCompleted()).isEqualTo(THREADS * UPDATES_PER_THREAD);
+        assertThat(progress.get(longPathId).getStatus()).isEqualTo("IN_PROGRESS");
+        assertThat(progress.get(shortPathId).getLessonsCompleted()).isEqualTo(20);
+        assertThat(progress.get(shortPathId).getStatus()).isEqualTo("COMPLETED");
+
+        rewardOutboxProcessor.drain();
+        ProgressStatsResponse after = progressTrackingService.getProgressStats(userId);
+        assertThat(after.getTotalPoints()).isEqualTo(before.getTotalPoints() + 50);
+        assertThat(after.getTotalCertificates()).isEqualTo(before.getTotalCertificates() + 1);
+        assertThat(after.getCompletedPaths()).isEqualTo(before.getCompletedPaths() + 1);
+    }
+
+    @Test
+    void pathCountersMatchTheAggregateAcrossUpdatesCompletionAndReseed() {
+        Long pathId = createPath("Counters path", 2);
+        userId = TestUsers.create(userRepository, "counters-test");
+        progressTrackingService.initializeUserProgress(userId);
+        assertCountersMatchAggregate();
+
+        progressTrackingService.updateProgress(userId, lessonOf(pathId));
+        assertCountersMatchAggregate();
+        // The completion is counted before its reward is applied
+        progressTrackingService.updateProgress(userId, lessonOf(pathId));
+        assertCountersMatchAggregate();
+        rewardOutboxProcessor.drain();
+        assertCountersMatchAggregate();
+
+        // More lessons take the path out of COMPLETED again
+        LearningPathRequest longer = new LearningPathRequest();
+        longer.setTotalLessons(10);
+        progressTrackingService.updateLearningPath(pathId, longer);
+        learningPathCatalog.reload();
+        progressTrackingService.updateProgress(userId, lessonOf(pathId));
+        assertCountersMatchAggregate();
+
+        createPath("Counters reseed path", 3);
+        progressTrackingService.initializeUserProgress(userId);
+        assertCountersMatchAggregate();
+    }
+
+    // Only the path counts: a worker woken by the completion may apply the reward between the two reads
+    private void assertCountersMatchAggregate() {
+        ProgressStatsResponse counters = userAchievementsRepository.findProgressStatsFromCounters(userId).orElseThrow();
+        ProgressStatsResponse aggregate = userAchievementsRepository.aggregateProgressStats(userId).orElseThrow();
+        assertThat(counters.getTotalPaths()).isEqualTo(aggregate.getTotalPaths());
+        assertThat(counters.getCompletedPaths()).isEqualTo(aggregate.getCompletedPaths());
+    }
+
+    private Long createPath(String title, int totalLessons) {
+        LearningPathRequest request = new LearningPathRequest();
+        request.setTitle(title);
+        request.setDescription("test");
+        request.setTotalLessons(totalLessons);
+        request.setIcon("*");
+        request.setColor("text-primary");
+        request.setBgColor("bg-primary/10");
+        request.setSortOrder(100);
+        request.setIsActive(true);
+        Long pathId = progressTrackingService.createLearningPath(request).getPathId();
+        pathIds.add(pathId);
+        return pathId;
+    }
+
+    private static UpdateProgressRequest lessonOf(Long pathId) {
+        UpdateProgressRequest request = new UpdateProgressRequest();
+        request.setPathId(pathId);
+        request.setIncrementPercent(0);
+        return request;
+    }
+}
@@ -0,0 +1,56 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "rewards.outbox.poll-interval-ms=3600000")
+class RewardOutboxProcessorTest {
+
+    @Autowired
+    private RewardOutboxProcessor rewardOutboxProcessor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUserData(jdbcTemplate, userId);
+    }
+
+    @Test
+    void rewardsWithoutAnAchievementsRowAreDeadLetteredNotDropped() {
+        userId = TestUsers.create(userRepository, "dead-letter");
+        Long pathId = jdbcTemplate.queryForObject("SELECT min(path_id) FROM learning_paths", Long.class);
+        Long eventId = jdbcTemplate.queryForObject("SELECT nextval('reward_outbox_seq')", Long.class);
+        jdbcTemplate.update("INSERT INTO reward_outbox (event_id, user_id, path_id, points, created_at) VALUES (?, ?, ?, 50, now())",
+                eventId, userId, pathId);
+        double before = meterRegistry.get("rewards.outbox.dead_lettered").counter().count();
+
+        rewardOutboxProcessor.drain();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM reward_outbox WHERE user_id = ?", Integer.class, userId)).isZero();
+        assertThat(jdbcTemplate.queryForMap("SELECT event_id, path_id, points, reason FROM reward_dead_letter WHERE user_id = ?", userId))
+                .containsEntry("event_id", eventId)
+                .containsEntry("path_id", pathId)
+                .containsEntry("points", 50)
+                .containsEntry("reason", "no achievements row");
+        assertThat(meterRegistry.get("rewards.outbox.dead_lettered").counter().count()).isEqualTo(before + 1);
+        assertThat(meterRegistry.get("rewards.outbox.dead_letter.depth").gauge().value()).isPositive();
+    }
+}
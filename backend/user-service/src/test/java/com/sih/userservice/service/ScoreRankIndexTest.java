@@ -0,0 +1,64 @@
+package com.sih.userservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreRankIndexTest {
+
+    @Test
+    void ranksByScoreDescendingThenUserId() {
+        ScoreRankIndex index = new ScoreRankIndex();
+        index.put(1, 100);
+        index.put(2, 300);
+        index.put(3, 200);
+        index.put(4, 200);
+
+        assertThat(index.range(1, 10)).extracting(ScoreRankIndex.Entry::userId).containsExactly(2L, 3L, 4L, 1L);
+        assertThat(index.rankOf(4)).isEqualTo(3);
+        assertThat(index.rankOf(99)).isZero();
+
+        index.put(1, 400);
+        assertThat(index.rankOf(1)).isEqualTo(1);
+        assertThat(index.range(2, 2)).extracting(ScoreRankIndex.Entry::userId).containsExactly(2L, 3L);
+
+        index.remove(2);
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.range(1, 10)).extracting(ScoreRankIndex.Entry::rank).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void matchesSortedOracleUnderRandomUpdates() {
+        Random random = new Random(42);
+        ScoreRankIndex index = new ScoreRankIndex();
+        Map<Long, Long> oracle = new HashMap<>();
+        for (int op = 0; op < 20_000; op++) {
+            long userId = random.nextInt(2_000);
+            if (random.nextInt(10) == 0) {
+                index.remove(userId);
+                oracle.remove(userId);
+            } else {
+                long score = random.nextInt(500);
+                index.put(userId, score);
+                oracle.put(userId, score);
+            }
+        }
+
+        List<Long> expected = new ArrayList<>(oracle.keySet());
+        expected.sort(Comparator.<Long>comparingLong(oracle::get).reversed().thenComparing(Comparator.naturalOrder()));
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertThat(index.range(1, expected.size())).extracting(ScoreRankIndex.Entry::userId).containsExactlyElementsOf(expected);
+        for (int i = 0; i < expected.size(); i += 37) {
+            assertThat(index.rankOf(expected.get(i))).isEqualTo(i + 1);
+            assertThat(index.range(i + 1, 1)).extracting(ScoreRankIndex.Entry::userId).containsExactly(expected.get(i));
+        }
+    }
+}
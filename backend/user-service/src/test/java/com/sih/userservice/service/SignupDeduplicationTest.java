@@ -0,0 +1,105 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.dto.CreateUserRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "password.bcrypt.strength=4")
+class SignupDeduplicationTest {
+
+    private static final String EMAIL_PREFIX = "signup-dedup-";
+    private static final int THREADS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmailBloomFilter emailFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void filterKnowsNewSignupsAndRejectsRepeats() {
+        String email = EMAIL_PREFIX + System.nanoTime() + "@test.local";
+        assertThat(emailFilter.isWarmed()).isTrue();
+        assertThat(emailFilter.mightContain(email)).isFalse();
+
+        userService.createStudent(request(email));
+
+        assertThat(emailFilter.mightContain(email)).isTrue();
+        assertThatThrownBy(() -> userService.createStudent(request(email)))
+                .isInstanceOf(EmailAlreadyInUseException.class)
+                .hasMessage("Email already in use");
+    }
+
+    @Test
+    void concurrentSignupsWithTheSameEmailCreateOneUser() throws Exception {
+        // Every thread passes the pre-check; the unique constraint has to settle it
+        String email = EMAIL_PREFIX + "race-" + System.nanoTime() + "@test.local";
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        userService.createStudent(request(email));
+                        return true;
+                    } catch (EmailAlreadyInUseException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int created = 0;
+            for (Future<Boolean> result : results) {
+                created += result.get() ? 1 : 0;
+            }
+            assertThat(created).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE email = ?", Integer.class, email)).isEqualTo(1);
+    }
+
+    @Test
+    void emailsDifferingOnlyInCaseStaySeparateAccounts() {
+        String email = EMAIL_PREFIX + System.nanoTime() + "@test.local";
+        String shouted = email.replace("@test.local", "@TEST.Local");
+        userService.createStudent(request(email));
+
+        // Matching stays exact, as the unique constraint on users.email compares
+        assertThat(userService.createStudent(request(shouted)).getEmail()).isEqualTo(shouted);
+        assertThat(userService.getByEmail(email).getEmail()).isEqualTo(email);
+    }
+
+    private static CreateUserRequest request(String email) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setEmail(email);
+        request.setPassword("secret");
+        request.setFirstName("Signup");
+        request.setLastName("Test");
+        return request;
+    }
+}
@@ -0,0 +1,138 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.dto.CreateUserRequest;
+import com.sih.userservice.dto.StudentImportResponse;
+import com.sih.userservice.dto.StudentImportRowResult;
+import com.sih.userservice.dto.StudentImportRowResult.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "password.bcrypt.strength=4")
+@AutoConfigureMockMvc
+class StudentImportServiceTest {
+
+    private static final String EMAIL_PREFIX = "import-test-";
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void csvImportReportsEveryRow() throws Exception {
+        CreateUserRequest existing = new CreateUserRequest();
+        existing.setEmail(EMAIL_PREFIX + "existing@test.local");
+        existing.setPassword("pw");
+        userService.createStudent(existing);
+        String csv = "Email,Password,First Name,Last Name,Class\r\n"
+                + EMAIL_PREFIX + "ann@test.local,secret1,\"Ann, Jr.\",Lee,7B\r\n"
+                + EMAIL_PREFIX + "bob@test.local,secret2,Bob,,7B\n"
+                + EMAIL_PREFIX + "ann@test.local,other,Ann,Again,7B\r\n"
+                + EMAIL_PREFIX + "existing@test.local,pw,Ex,Isting,7B\r\n"
+                + "not-an-email,pw,No,Email,7B\r\n"
+                + EMAIL_PREFIX + "nopass@test.local,,No,Pass,7B\r\n";
+
+        StudentImportResponse response = studentImportService.importCsv(stream(csv));
+
+        assertThat(response.getRows()).extracting(StudentImportRowResult::getRow, StudentImportRowResult::getStatus)
+                .containsExactly(
+                        tuple(1, Status.CREATED),
+                        tuple(2, Status.CREATED),
+                        tuple(3, Status.DUPLICATE),
+                        tuple(4, Status.DUPLICATE),
+                        tuple(5, Status.INVALID),
+                        tuple(6, Status.INVALID));
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getDuplicates()).isEqualTo(2);
+        assertThat(response.getInvalid()).isEqualTo(2);
+
+        Long annId = response.getRows().get(0).getUserId();
+        Map<String, Object> ann = jdbcTemplate.queryForMap("SELECT * FROM users WHERE id = ?", annId);
+        assertThat(ann).containsEntry("first_name", "Ann, Jr.").containsEntry("username", EMAIL_PREFIX + "ann")
+                .containsEntry("role", "STUDENT").containsEntry("enabled", true);
+        assertThat(passwordEncoder.matches("secret1", (String) ann.get("password"))).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM user_achievements WHERE user_id = ?", Integer.class, annId))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM user_progress WHERE user_id = ?", Integer.class, annId))
+                .isEqualTo(jdbcTemplate.queryForObject("SELECT count(*) FROM learning_paths WHERE is_active", Integer.class));
+    }
+
+    @Test
+    void importsAcrossSeveralChunks() throws Exception {
+        int rows = StudentImportService.CHUNK_SIZE * 2 + 3;
+        StringBuilder csv = new StringBuilder("email,password\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(EMAIL_PREFIX).append("bulk-").append(i).append("@test.local,pw").append(i).append('\n');
+        }
+
+        StudentImportResponse response = studentImportService.importCsv(stream(csv.toString()));
+
+        assertThat(response.getCreated()).isEqualTo(rows);
+        assertThat(response.getRows()).extracting(StudentImportRowResult::getUserId).doesNotHaveDuplicates().doesNotContainNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM user_achievements a JOIN users u ON u.id = a.user_id "
+                + "WHERE u.email LIKE ?", Integer.class, EMAIL_PREFIX + "bulk-%")).isEqualTo(rows);
+    }
+
+    @Test
+    void malformedJsonKeepsEarlierRowsAndReportsWhereItStopped() throws Exception {
+        String json = "[{\"email\":\"" + EMAIL_PREFIX + "json@test.local\",\"password\":\"pw\"}, {\"email\": ]";
+
+        StudentImportResponse response = studentImportService.importJson(stream(json));
+
+        assertThat(response.getRows()).extracting(StudentImportRowResult::getStatus)
+                .containsExactly(Status.CREATED, Status.FAILED);
+        assertThat(response.getRows().get(1).getMessage()).startsWith("Unreadable input");
+    }
+
+    @Test
+    void endpointAcceptsJsonAndNdjson() throws Exception {
+        mockMvc.perform(post("/users/import").contentType("application/json")
+                        .content("[{\"email\":\"" + EMAIL_PREFIX + "a@test.local\",\"password\":\"pw\",\"firstName\":\"A\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rows[0].status").value("CREATED"));
+        mockMvc.perform(post("/users/import").contentType("application/x-ndjson")
+                        .content("{\"email\":\"" + EMAIL_PREFIX + "b@test.local\",\"password\":\"pw\"}\n"
+                                + "{\"email\":\"" + EMAIL_PREFIX + "c@test.local\",\"password\":\"pw\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2));
+        mockMvc.perform(post("/users/import").contentType("text/csv").content("name,password\nx,y\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
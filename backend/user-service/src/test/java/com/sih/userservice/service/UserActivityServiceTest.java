@@ -0,0 +1,155 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.dto.UpdateProgressRequest;
+import com.sih.userservice.dto.UserActivityResponse;
+import com.sih.userservice.dto.WeeklyPointsResponse;
+import com.sih.userservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "rewards.outbox.poll-interval-ms=3600000")
+class UserActivityServiceTest {
+
+    @Autowired
+    private UserActivityService userActivityService;
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    @Autowired
+    private RewardOutboxProcessor rewardOutboxProcessor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        userId = TestUsers.create(userRepository, "activity");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUserData(jdbcTemplate, userId);
+    }
+
+    @Test
+    void streaksRunAcrossYearBoundariesAndBreakOnAMissedDay() {
+        activeOn(LocalDate.of(2024, 3, 1), 10);
+        activeOn(LocalDate.of(2025, 12, 29), 5);
+        activeOn(LocalDate.of(2026, 1, 5), 2);
+
+        assertThat(activity(LocalDate.of(2026, 1, 2)).getCurrentStreak()).isEqualTo(5);
+        // Today not active yet: yesterday's streak still counts
+        assertThat(activity(LocalDate.of(2026, 1, 3)).getCurrentStreak()).isEqualTo(5);
+        assertThat(activity(LocalDate.of(2026, 1, 4)).getCurrentStreak()).isZero();
+        assertThat(activity(LocalDate.of(2026, 1, 6)).getCurrentStreak()).isEqualTo(2);
+        assertThat(activity(LocalDate.of(2026, 1, 6)).getLongestStreak()).isEqualTo(10);
+    }
+
+    @Test
+    void rangeCountsActiveDaysAndListsThemForTheHeatmap() {
+        activeOn(LocalDate.of(2025, 12, 30), 4);
+        activeOn(LocalDate.of(2026, 2, 28), 1);
+
+        UserActivityResponse january = userActivityService.getActivity(userId,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), LocalDate.of(2026, 3, 1));
+        assertThat(january.getActiveDays()).isEqualTo(2);
+        assertThat(january.getActiveDates()).containsExactly("2026-01-01", "2026-01-02");
+
+        UserActivityResponse winter = userActivityService.getActivity(userId,
+                LocalDate.of(2025, 12, 1), LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 1));
+        assertThat(winter.getActiveDays()).isEqualTo(5);
+        assertThat(winter.getActiveDates()).endsWith("2026-02-28");
+    }
+
+    @Test
+    void pointsAreTotalledByWeekInAnyOrderOfArrival() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> userActivityService.recordPoints(
+                Map.of(userId, Map.of(LocalDate.of(2026, 1, 5), 50))));
+        transaction.executeWithoutResult(status -> userActivityService.recordPoints(
+                Map.of(userId, Map.of(LocalDate.of(2026, 1, 1), 50, LocalDate.of(2026, 1, 6), 30))));
+        transaction.executeWithoutResult(status -> userActivityService.recordPoints(
+                Map.of(userId, Map.of(LocalDate.of(2026, 1, 5), 50))));
+
+        UserActivityResponse activity = userActivityService.getActivity(userId,
+                LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 18), LocalDate.of(2026, 1, 18));
+        assertThat(activity.getPointsByWeek()).containsExactly(
+                new WeeklyPointsResponse("2025-12-29", 50),
+                new WeeklyPointsResponse("2026-01-05", 130),
+                new WeeklyPointsResponse("2026-01-12", 0));
+        assertThat(activity.getActiveDates()).containsExactly("2026-01-01", "2026-01-05", "2026-01-06");
+    }
+
+    @Test
+    void progressUpdatesAndCompletionRewardsAreRecorded() {
+        progressTrackingService.initializeUserProgress(userId);
+        Long pathId = jdbcTemplate.queryForObject("SELECT min(path_id) FROM learning_paths WHERE is_active", Long.class);
+        UpdateProgressRequest request = new UpdateProgressRequest();
+        request.setPathId(pathId);
+        request.setIncrementPercent(100);
+        progressTrackingService.updateProgress(userId, request);
+
+        // The commit also wakes a worker, which may be the one that applies the reward
+        LocalDate today = LocalDate.now();
+        long deadline = System.currentTimeMillis() + 5000;
+        UserActivityResponse activity;
+        do {
+            rewardOutboxProcessor.drain();
+            activity = userActivityService.getActivity(userId, today, today, today);
+        } while (activity.getPointsByWeek().get(0).getPoints() == 0 && System.currentTimeMillis() < deadline);
+        assertThat(activity.getCurrentStreak()).isEqualTo(1);
+        assertThat(activity.getActiveDates()).containsExactly(today.toString());
+        assertThat(activity.getPointsByWeek()).extracting(WeeklyPointsResponse::getPoints).containsExactly(50);
+    }
+
+    @Test
+    void lessonsWithoutCompletionKeepTheStoredStreakInStepWithTheBitmap() {
+        progressTrackingService.initializeUserProgress(userId);
+        Long pathId = jdbcTemplate.queryForObject("SELECT min(path_id) FROM learning_paths WHERE is_active AND total_lessons > 2", Long.class);
+        LocalDate today = LocalDate.now();
+        activeOn(today.minusDays(2), 2);
+        jdbcTemplate.update("UPDATE user_achievements SET streak = 2, last_active_date = ? WHERE user_id = ?",
+                today.minusDays(1).toString(), userId);
+        UpdateProgressRequest lesson = new UpdateProgressRequest();
+        lesson.setPathId(pathId);
+        lesson.setIncrementPercent(0);
+
+        progressTrackingService.updateProgress(userId, lesson);
+        progressTrackingService.updateProgress(userId, lesson);
+
+        assertThat(activity(today).getCurrentStreak()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForMap("SELECT streak, last_active_date FROM user_achievements WHERE user_id = ?", userId))
+                .containsEntry("streak", 3).containsEntry("last_active_date", today.toString());
+    }
+
+    private void activeOn(LocalDate first, int days) {
+        for (int i = 0; i < days; i++) {
+            userActivityService.recordActivity(userId, first.plusDays(i));
+        }
+    }
+
+    private UserActivityResponse activity(LocalDate today) {
+        return userActivityService.getActivity(userId, today.minusDays(30), today, today);
+    }
+}
@@ -0,0 +1,107 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.TestUsers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserExportServiceTest {
+
+    private static final String EMAIL_PREFIX = "export-test-";
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (email, password, username, first_name, last_name, role, enabled) "
+                + "VALUES (?, 'secret-hash', 'export-test', 'Ann, \"The\" First', ?, 'STUDENT', true)",
+                EMAIL_PREFIX + System.nanoTime() + "@test.local", "Multi\nLine");
+        userId = jdbcTemplate.queryForObject("SELECT max(id) FROM users WHERE email LIKE ?", Long.class, EMAIL_PREFIX + "%");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestUsers.deleteUsersByEmailPrefix(jdbcTemplate, EMAIL_PREFIX);
+    }
+
+    @Test
+    void csvQuotesSpecialCharactersAndLeavesOutPasswords() throws Exception {
+        String csv = export(UserExportService.Dataset.USERS, UserExportService.Format.CSV);
+
+        assertThat(csv).startsWith("id,email,username,first_name,last_name,role,enabled\r\n");
+        assertThat(csv).contains(userId + ",export-test-").contains(",export-test,\"Ann, \"\"The\"\" First\",\"Multi\nLine\",STUDENT,t\r\n");
+        assertThat(csv).doesNotContain("secret-hash");
+        long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class);
+        assertThat(csv.split("\r\n")).hasSize((int) rows + 1);
+    }
+
+    @Test
+    void ndjsonWritesOneTypedObjectPerLine() throws Exception {
+        String ndjson = export(UserExportService.Dataset.USERS, UserExportService.Format.NDJSON);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        JsonNode row = rows.stream().filter(r -> r.get("id").asLong() == userId).findFirst().orElseThrow();
+        assertThat(row.get("id").isIntegralNumber()).isTrue();
+        assertThat(row.get("enabled").isBoolean()).isTrue();
+        assertThat(row.get("first_name").asText()).isEqualTo("Ann, \"The\" First");
+        assertThat(row.get("last_name").asText()).isEqualTo("Multi\nLine");
+        assertThat(row.has("password")).isFalse();
+    }
+
+    @Test
+    // The header comes from the result set metadata, so it is there even when the table is empty
+    void achievementsCsvHasItsHeader() throws Exception {
+        String csv = export(UserExportService.Dataset.ACHIEVEMENTS, UserExportService.Format.CSV);
+
+        assertThat(Arrays.asList(csv.split("\r\n")).get(0)).startsWith("achievement_id,user_id,points_earned");
+    }
+
+    @Test
+    void endpointStreamsAsAnAttachmentAndRejectsUnknownDatasets() throws Exception {
+        mockMvc.perform(get("/api/export/progress").param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"progress.ndjson\""));
+        mockMvc.perform(get("/api/export/passwords")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/export/users").param("format", "xml")).andExpect(status().isBadRequest());
+    }
+
+    private String export(UserExportService.Dataset dataset, UserExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userExportService.export(dataset, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
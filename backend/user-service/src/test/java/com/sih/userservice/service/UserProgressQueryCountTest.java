@@ -0,0 +1,71 @@
+package com.sih.userservice.service;
+
+import com.sih.userservice.TestUsers;
+import com.sih.userservice.dto.UserProgressResponse;
+import com.sih.userservice.entity.LearningPath;
+import com.sih.userservice.entity.User;
+import com.sih.userservice.entity.UserProgress;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Reward workers are kept idle so their polling does not show up in the global statement count
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "rewards.outbox.poll-interval-ms=3600000"
+})
+@Transactional
+class UserProgressQueryCountTest {
+
+    @Autowired
+    private ProgressTrackingService progressTrackingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void getUserProgressIsOneStatementRegardlessOfPathCount(int pathCount) {
+        User user = TestUsers.student("query-count-" + pathCount);
+        entityManager.persist(user);
+        for (int i = 0; i < pathCount; i++) {
+            LearningPath path = new LearningPath();
+            path.setTitle("Query count path " + i);
+            path.setDescription("test");
+            path.setTotalLessons(5);
+            path.setIcon("*");
+            path.setColor("text-primary");
+            path.setBgColor("bg-primary/10");
+            path.setIsActive(false);
+            entityManager.persist(path);
+            UserProgress progress = new UserProgress();
+            progress.setUser(user);
+            progress.setLearningPath(path);
+            entityManager.persist(progress);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<UserProgressResponse> progress = progressTrackingService.getUserProgress(user.getId());
+
+        assertThat(progress).hasSize(pathCount);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
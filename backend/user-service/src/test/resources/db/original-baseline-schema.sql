@@ -0,0 +1,26 @@
+-- A database as the original service left it: the tables ddl-auto=update created from the entities before
+-- migrations took over (IDENTITY ids, Hibernate's constraint names), no Flyway history, and some rows.
+-- Kept apart from V1 so that an edit to V1 cannot hide what existing databases actually hold.
+
+create table learning_paths (path_id bigint generated by default as identity, bg_color varchar(255) not null, color varchar(255) not null, description varchar(255) not null, icon varchar(255) not null, is_active boolean not null, sort_order integer not null, title varchar(255) not null, total_lessons integer not null, primary key (path_id));
+create table users (id bigint generated by default as identity, email varchar(255) not null, enabled boolean not null, first_name varchar(255), last_name varchar(255), password varchar(255) not null, role varchar(255) check (role in ('STUDENT','TEACHER','AMBASSADOR','ADMIN')), username varchar(255) not null, primary key (id));
+create table user_achievements (achievement_id bigint generated by default as identity, certificates_earned integer not null, created_at timestamp(6) not null, last_active_date varchar(255) not null, last_updated timestamp(6) not null, level integer not null, points_earned integer not null, streak integer not null, user_id bigint not null, primary key (achievement_id));
+create table user_progress (progress_id bigint generated by default as identity, created_at timestamp(6) not null, lessons_completed integer not null, progress_percentage float(53) not null, status varchar(255) not null check (status in ('NOT_STARTED','IN_PROGRESS','COMPLETED')), updated_at timestamp(6) not null, path_id bigint not null, user_id bigint not null, primary key (progress_id));
+alter table if exists user_achievements add constraint UKadf9oxosyeo450lpqy7j9174m unique (user_id);
+alter table if exists user_progress add constraint UKp0hqsdexnnuc0l2927i2an0he unique (user_id, path_id);
+alter table if exists users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table if exists user_achievements add constraint FK6vt5fpu0uta41vny1x6vpk45k foreign key (user_id) references users;
+alter table if exists user_progress add constraint FKoihx8hjnoarj8laspeepwaxfb foreign key (path_id) references learning_paths;
+alter table if exists user_progress add constraint FKrt37sneeps21829cuqetjm5ye foreign key (user_id) references users;
+
+insert into learning_paths (bg_color, color, description, icon, is_active, sort_order, title, total_lessons) values
+    ('bg-green-50', 'green', 'Waste basics', 'recycle', true, 1, 'Waste Management', 4),
+    ('bg-blue-50', 'blue', 'Water basics', 'droplet', true, 2, 'Water Conservation', 8);
+insert into users (email, enabled, first_name, last_name, password, role, username) values
+    ('early-student@upgrade.local', true, 'Early', 'Student', 'x', 'STUDENT', 'early-student'),
+    ('early-teacher@upgrade.local', false, 'Early', 'Teacher', 'x', 'TEACHER', 'early-teacher');
+insert into user_achievements (certificates_earned, created_at, last_active_date, last_updated, level, points_earned, streak, user_id)
+    values (3, now(), '2024-05-01', now(), 1, 50, 2, 1);
+insert into user_progress (created_at, lessons_completed, progress_percentage, status, updated_at, path_id, user_id) values
+    (now(), 4, 100.0, 'COMPLETED', now(), 1, 1),
+    (now(), 2, 25.0, 'IN_PROGRESS', now(), 2, 1);
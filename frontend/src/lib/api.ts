@@ -18,6 +18,11 @@ export type LoginRequest = {
   password: string;
 };
 
+export type UserPage = {
+  users: any[];
+  nextCursor: number | null;
+};
+
 async function request<T>(path: string, options: RequestInit): Promise<T> {
   const res = await fetch(`${BASE_URL}${path}`, {
     headers: { "Content-Type": "application/json", ...(options.headers || {}) },
@@ -38,8 +43,10 @@ export const api = {
   login: (payload: LoginRequest) =>
     request<string>("/auth/login", { method: "POST", body: JSON.stringify(payload) }),
   // User-service admin APIs
-  listPending: async (token: string) => {
-    const res = await fetch(`${USER_BASE_URL}/users/pending`, {
+  // One page of pending users; pass nextCursor back as `after` for the next page (null on the last one)
+  listPending: async (token: string, after?: number | null): Promise<UserPage> => {
+    const query = after ? `?after=${after}` : "";
+    const res = await fetch(`${USER_BASE_URL}/users/pending${query}`, {
       headers: { Authorization: `Bearer ${token}` },
     });
     if (!res.ok) throw new Error(await res.text());
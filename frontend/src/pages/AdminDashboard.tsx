@@ -77,6 +77,7 @@ export default function AdminDashboard() {
   const [selectedTab, setSelectedTab] = useState("overview");
   const [filteredUsers, setFilteredUsers] = useState(mockUsers);
   const [pending, setPending] = useState<any[]>([]);
+  const [pendingCursor, setPendingCursor] = useState<number | null>(null);
   const [loadingPending, setLoadingPending] = useState(false);
 
   // Check if user is authorized admin
@@ -107,13 +108,15 @@ export default function AdminDashboard() {
     setFilteredUsers(filtered);
   }, [searchTerm]);
 
+  // Starts over from the first page; loadMorePending appends the next one
   const refreshPending = async () => {
     try {
       setLoadingPending(true);
       // @ts-ignore useAuth provides token via context
       const token = (localStorage.getItem("ecoquest_auth_token") as string) || "";
-      const list = await api.listPending(token);
-      setPending(list);
+      const page = await api.listPending(token);
+      setPending(page.users);
+      setPendingCursor(page.nextCursor);
     } catch (e) {
       console.error(e);
     } finally {
@@ -121,6 +124,17 @@ export default function AdminDashboard() {
     }
   };
 
+  const loadMorePending = async () => {
+    try {
+      const token = (localStorage.getItem("ecoquest_auth_token") as string) || "";
+      const page = await api.listPending(token, pendingCursor);
+      setPending(current => [...current, ...page.users]);
+      setPendingCursor(page.nextCursor);
+    } catch (e) {
+      console.error(e);
+    }
+  };
+
   useEffect(() => {
     if (selectedTab === 'pending') {
       refreshPending();
@@ -527,7 +541,7 @@ export default function AdminDashboard() {
               <EcoCardHeader>
                 <div className="flex items-center justify-between">
                   <EcoCardTitle>Pending Approvals</EcoCardTitle>
-                  <Badge variant="secondary">{pending.length} pending</Badge>
+                  <Badge variant="secondary">{pending.length}{pendingCursor ? "+" : ""} pending</Badge>
                 </div>
               </EcoCardHeader>
               <EcoCardContent>
@@ -560,6 +574,11 @@ export default function AdminDashboard() {
                         </div>
                       </div>
                     ))}
+                    {pendingCursor && (
+                      <EcoButton size="sm" variant="outline" className="w-full" onClick={loadMorePending}>
+                        Load more
+                      </EcoButton>
+                    )}
                   </div>
                 )}
               </EcoCardContent>
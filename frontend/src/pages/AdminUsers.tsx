@@ -14,12 +14,27 @@ export default function AdminUsers() {
   const [role, setRole] = useState("TEACHER");
   const [loading, setLoading] = useState(false);
   const [pending, setPending] = useState<any[]>([]);
+  const [pendingCursor, setPendingCursor] = useState<number | null>(null);
 
   const userServiceBase = `${location.origin.replace(':5173',':8082')}`;
 
+  // First page of pending users; loadMorePending appends the next one
   async function loadPending() {
     const res = await fetch(`${userServiceBase}/users/pending`);
-    if (res.ok) setPending(await res.json());
+    if (res.ok) {
+      const page = await res.json();
+      setPending(page.users);
+      setPendingCursor(page.nextCursor);
+    }
+  }
+
+  async function loadMorePending() {
+    const res = await fetch(`${userServiceBase}/users/pending?after=${pendingCursor}`);
+    if (res.ok) {
+      const page = await res.json();
+      setPending(p => [...p, ...page.users]);
+      setPendingCursor(page.nextCursor);
+    }
   }
 
   useEffect(() => { loadPending(); }, []);
@@ -112,6 +127,9 @@ export default function AdminUsers() {
                   <EcoButton size="sm" onClick={() => approve(u.id)}>Approve</EcoButton>
                 </div>
               ))}
+              {pendingCursor && (
+                <EcoButton size="sm" variant="outline" onClick={loadMorePending}>Load more</EcoButton>
+              )}
             </div>
           )}
         </EcoCardContent>